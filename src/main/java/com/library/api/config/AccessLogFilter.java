@@ -0,0 +1,140 @@
+package com.library.api.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.event.Level;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access log - one structured line per API request
+ * Written to the com.library.api.access logger with the request fields as key/value pairs
+ * (JSON fields under the prod profile). Successful reads are sampled: only 1 in
+ * library.access-log.read-sample-rate.* of them is logged, per controller method.
+ * Writes and errors are always logged, server errors at WARN so an overloaded
+ * async appender does not discard them.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1) // Inside SqlStatementCountFilter, so the statement count is still open
+@Slf4j(topic = "com.library.api.access")
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final int defaultReadSampleRate;
+    private final Map<String, Integer> readSampleRates;
+
+    public AccessLogFilter(
+            @Value("${library.access-log.enabled}") boolean enabled,
+            @Value("${library.access-log.read-sample-rate.default}") int defaultReadSampleRate,
+            @Value("#{${library.access-log.read-sample-rate.endpoints:{:}}}") Map<String, Integer> readSampleRates) {
+        
+        this.enabled = enabled;
+        this.defaultReadSampleRate = defaultReadSampleRate;
+        this.readSampleRates = Map.copyOf(readSampleRates);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !log.isInfoEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            String handler = HandlerNames.of(request);
+            if (handler != null) {
+                SqlStatementCounter.Scope scope = SqlStatementCounter.current();
+                int statements = scope != null ? scope.count() : 0;
+                if (!failed && request.isAsyncStarted()) {
+                    // Streaming responses finish on another thread; log when they complete
+                    request.getAsyncContext().addListener(
+                            new CompletionListener(request, response, handler, statements, start));
+                } else {
+                    log(request, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(),
+                            handler, statements, start);
+                }
+            }
+        }
+    }
+
+    private void log(HttpServletRequest request, int status, String handler, int statements, long start) {
+        if (!sampled(request, status, handler)) {
+            return;
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        String query = request.getQueryString();
+        String uri = query != null ? request.getRequestURI() + "?" + query : request.getRequestURI();
+        log.atLevel(status >= 500 ? Level.WARN : Level.INFO)
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("uri", uri)
+                .addKeyValue("status", status)
+                .addKeyValue("handler", handler)
+                .addKeyValue("durationMs", elapsedMillis)
+                .addKeyValue("statements", statements)
+                .log("{} {} {} {} ms {} sql", request.getMethod(), uri, status, elapsedMillis, statements);
+    }
+
+    private boolean sampled(HttpServletRequest request, int status, String handler) {
+        boolean read = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+        if (!read || status >= 400) {
+            return true;
+        }
+        int rate = readSampleRates.getOrDefault(handler, defaultReadSampleRate);
+        return rate <= 1 || ThreadLocalRandom.current().nextInt(rate) == 0;
+    }
+
+    private final class CompletionListener implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final String handler;
+        private final int statements;
+        private final long start;
+
+        CompletionListener(HttpServletRequest request, HttpServletResponse response, String handler,
+                           int statements, long start) {
+            this.request = request;
+            this.response = response;
+            this.handler = handler;
+            this.statements = statements;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            log(request, response.getStatus(), handler, statements, start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.library.api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Cache Configuration
+ * Bounded in-process caches for mapped single-resource responses
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE) // Outside the DB admission limiter and transactions
+public class CacheConfig {
+
+    public static final String BOOKS_CACHE = "books";
+    public static final String LIBRARIES_CACHE = "libraries";
+
+    /**
+     * Caffeine cache manager wrapped to be transaction aware
+     * Puts and evictions inside a transaction are applied after commit,
+     * so a rolled back write never leaves stale or uncommitted entries behind
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${spring.cache.caffeine.spec}") String cacheSpec) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(BOOKS_CACHE, LIBRARIES_CACHE);
+        caffeineCacheManager.setCacheSpecification(cacheSpec);
+        caffeineCacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -0,0 +1,118 @@
+package com.library.api.config;
+
+import com.library.api.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Admission control in front of the connection pool
+ * At most library.db.max-concurrency transactions run at once; further callers wait
+ * on a fair semaphore in arrival order. With virtual threads thousands of requests
+ * can be in flight, and parking them here is cheap, whereas letting them all compete
+ * inside the pool means spinning on its handoff queue and timing out in random order.
+ *
+ * Applies to @Transactional methods (nested calls reuse the caller's permit) and to
+ * programmatic transactions run through {@link #run(Runnable)}. Ordered after the cache
+ * interceptor, so cache hits never take a permit, and before the transaction interceptor,
+ * so the permit is held for the whole transaction.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@Slf4j
+public class DatabaseAdmissionLimiter {
+
+    private static final ThreadLocal<Boolean> ADMITTED = new ThreadLocal<>();
+
+    private final Semaphore permits;
+    private final Duration timeout;
+
+    public DatabaseAdmissionLimiter(
+            @Value("${library.db.max-concurrency}") int maxConcurrency,
+            @Value("${library.db.admission-timeout}") Duration timeout,
+            MeterRegistry meterRegistry) {
+        
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.timeout = timeout;
+        
+        Gauge.builder("library.db.admission.waiting", permits, Semaphore::getQueueLength)
+                .description("Callers waiting for a database permit")
+                .register(meterRegistry);
+        Gauge.builder("library.db.admission.available", permits, Semaphore::availablePermits)
+                .description("Database permits currently free")
+                .register(meterRegistry);
+    }
+
+    @Around("@within(org.springframework.transaction.annotation.Transactional) "
+            + "|| @annotation(org.springframework.transaction.annotation.Transactional)")
+    public Object admit(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ADMITTED.get() != null) {
+            return joinPoint.proceed();
+        }
+        
+        acquire();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Run a unit of work (e.g. a TransactionTemplate call) under a database permit
+     */
+    public void run(Runnable work) {
+        call(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run a unit of work under a database permit and return its result
+     */
+    public <T> T call(Supplier<T> work) {
+        if (ADMITTED.get() != null) {
+            return work.get();
+        }
+        
+        acquire();
+        try {
+            return work.get();
+        } finally {
+            release();
+        }
+    }
+
+    private void acquire() {
+        try {
+            // The timed tryAcquire honours fairness (the untimed one would barge)
+            if (!permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                log.warn("No database permit within {} ({} callers waiting)", timeout, permits.getQueueLength());
+                throw new ServiceUnavailableException("Database is busy, please retry later");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for the database");
+        }
+        ADMITTED.set(Boolean.TRUE);
+    }
+
+    private void release() {
+        ADMITTED.remove();
+        permits.release();
+    }
+}
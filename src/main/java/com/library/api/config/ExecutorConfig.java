@@ -0,0 +1,39 @@
+package com.library.api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor Configuration
+ * Long-running background work gets its own executors rather than Boot's applicationTaskExecutor,
+ * which MVC async requests share and which is a small platform pool when virtual threads are off
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * One virtual thread per change feed stream, whatever spring.threads.virtual.enabled says:
+     * streams mostly wait, and library.changes.max-subscribers already caps how many there are
+     */
+    @Bean
+    public SimpleAsyncTaskExecutor changeStreamExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("change-stream-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    /**
+     * Background library deletions, library.delete.threads at a time; further deletions queue
+     */
+    @Bean
+    public ThreadPoolTaskExecutor libraryDeletionExecutor(@Value("${library.delete.threads}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("library-delete-");
+        return executor;
+    }
+}
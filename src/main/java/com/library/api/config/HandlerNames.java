@@ -0,0 +1,29 @@
+package com.library.api.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Names requests by the controller method that handled them (e.g. BookController.getBookById)
+ * Used as the handler tag on per-request metrics, budgets and sampling rates.
+ */
+final class HandlerNames {
+
+    private HandlerNames() {
+    }
+
+    /**
+     * Handler name of a dispatched request, or null when no API controller handled it
+     * (static resources, actuator, unmatched paths)
+     */
+    static String of(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (!(handler instanceof HandlerMethod handlerMethod)
+                || !handlerMethod.getBeanType().isAnnotationPresent(RestController.class)) {
+            return null;
+        }
+        return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+    }
+}
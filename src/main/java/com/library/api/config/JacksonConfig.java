@@ -0,0 +1,29 @@
+package com.library.api.config;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson Configuration
+ * Response DTOs carry a @JsonFilter for sparse fieldsets; every mapper that writes them
+ * needs a filter provider, which by default serializes all properties
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Filter provider writing all properties (FieldSelectionAdvice overrides it per response)
+     */
+    public static FilterProvider serializeAllFilters() {
+        return new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+    }
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldSelectionFilters() {
+        return builder -> builder.filters(serializeAllFilters());
+    }
+}
@@ -0,0 +1,50 @@
+package com.library.api.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.sql.init.SqlDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Persistent catalog Configuration (activate with the "snapshot" profile)
+ * The profile points the datasource at an H2 file database, so a restart opens the stored
+ * tables and B-tree indexes as they were instead of re-inserting rows. schema.sql and
+ * data.sql (which drop and refill the tables) only run while the database is still empty.
+ */
+@Configuration
+@Profile("snapshot")
+@Slf4j
+public class PersistentCatalogConfig {
+
+    @Bean
+    public SqlDataSourceScriptDatabaseInitializer dataSourceScriptDatabaseInitializer(
+            DataSource dataSource, SqlInitializationProperties properties) {
+
+        return new SqlDataSourceScriptDatabaseInitializer(dataSource, properties) {
+            @Override
+            public boolean initializeDatabase() {
+                if (hasCatalog(dataSource)) {
+                    log.info("Opened persistent catalog; schema.sql and data.sql skipped");
+                    return false;
+                }
+                return super.initializeDatabase();
+            }
+        };
+    }
+
+    private static boolean hasCatalog(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             ResultSet tables = connection.getMetaData().getTables(null, null, "BOOK", new String[] {"TABLE"})) {
+            return tables.next();
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not inspect the catalog database", ex);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.library.api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling Configuration
+ * Enables @Scheduled background tasks (e.g. tombstone purging)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
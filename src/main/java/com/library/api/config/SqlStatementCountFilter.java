@@ -0,0 +1,165 @@
+package com.library.api.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request SQL statement accounting
+ * Opens a {@link SqlStatementCounter} scope around each request and reports the result:
+ * - X-Query-Count response header (statements executed before the response was committed)
+ * - library.request.statements summary and library.request.duration timer per controller method
+ * - a warning when a controller method exceeds its statement budget, or when one statement
+ *   repeats often enough within a request to suggest an N+1 access pattern
+ *
+ * Budgets default to library.sql.statement-budget.default and can be set per controller method
+ * (keyed like the handler tag, e.g. BookController.getBookById).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+
+    private final MeterRegistry meterRegistry;
+    private final int defaultBudget;
+    private final Map<String, Integer> budgets;
+    private final int repeatThreshold;
+    private final Map<String, HandlerMeters> meters = new ConcurrentHashMap<>();
+
+    private record HandlerMeters(Timer duration, DistributionSummary statements) {
+    }
+
+    public SqlStatementCountFilter(
+            MeterRegistry meterRegistry,
+            @Value("${library.sql.statement-budget.default}") int defaultBudget,
+            @Value("#{${library.sql.statement-budget.endpoints:{:}}}") Map<String, Integer> budgets,
+            @Value("${library.sql.repeat-threshold}") int repeatThreshold) {
+        
+        this.meterRegistry = meterRegistry;
+        this.defaultBudget = defaultBudget;
+        this.budgets = Map.copyOf(budgets);
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        
+        SqlStatementCounter.Scope scope = SqlStatementCounter.begin();
+        QueryCountResponse countingResponse = new QueryCountResponse(response, scope);
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, countingResponse);
+        } finally {
+            SqlStatementCounter.end();
+            // Bodiless responses (204, 304) are only committed after the filter chain returns
+            countingResponse.writeCountHeader();
+            record(request, scope, System.nanoTime() - start);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementCounter.Scope scope, long elapsedNanos) {
+        String name = HandlerNames.of(request);
+        if (name == null) {
+            return;
+        }
+        HandlerMeters handlerMeters = meters.computeIfAbsent(name, this::registerMeters);
+        handlerMeters.duration().record(elapsedNanos, TimeUnit.NANOSECONDS);
+        handlerMeters.statements().record(scope.count());
+        
+        int budget = budgets.getOrDefault(name, defaultBudget);
+        if (scope.count() > budget) {
+            log.warn("{} {} ran {} SQL statements (budget {})", request.getMethod(), request.getRequestURI(),
+                    scope.count(), budget);
+        }
+        Map.Entry<String, Integer> repeated = scope.mostRepeated();
+        if (repeated != null && repeated.getValue() >= repeatThreshold) {
+            log.warn("Possible N+1 in {}: statement ran {} times in one request: {}", name, repeated.getValue(),
+                    repeated.getKey());
+        }
+    }
+
+    private HandlerMeters registerMeters(String handler) {
+        return new HandlerMeters(
+                Timer.builder("library.request.duration")
+                        .description("Request time per controller method")
+                        .tag("handler", handler)
+                        .register(meterRegistry),
+                DistributionSummary.builder("library.request.statements")
+                        .description("SQL statements executed per request")
+                        .tag("handler", handler)
+                        .register(meterRegistry));
+    }
+
+    /**
+     * Sets the query count header as soon as the body is about to be written,
+     * while headers can still be changed
+     */
+    private static final class QueryCountResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatementCounter.Scope scope;
+        private boolean headerWritten;
+
+        QueryCountResponse(HttpServletResponse response, SqlStatementCounter.Scope scope) {
+            super(response);
+            this.scope = scope;
+        }
+
+        void writeCountHeader() {
+            if (!headerWritten && !isCommitted()) {
+                setHeader(QUERY_COUNT_HEADER, Integer.toString(scope.count()));
+            }
+            headerWritten = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeCountHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeCountHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeCountHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeCountHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeCountHeader();
+            super.sendError(sc);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.library.api.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate executes on behalf of the current request
+ * Registered as the session factory's StatementInspector, so every statement passes
+ * through {@link #inspect(String)} before it is prepared. Counting only happens inside
+ * a scope opened by {@link SqlStatementCountFilter}; each request runs on its own thread,
+ * so the scope is thread-bound. Plain JDBC (bulk import) bypasses Hibernate and is not counted.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Statements executed within one request, with executions per distinct SQL string
+     */
+    public static final class Scope {
+
+        private int count;
+        private final Map<String, Integer> executions = new HashMap<>();
+
+        public int count() {
+            return count;
+        }
+
+        /**
+         * The most executed statement and how often it ran (null when nothing ran)
+         */
+        public Map.Entry<String, Integer> mostRepeated() {
+            return executions.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .orElse(null);
+        }
+    }
+
+    public static Scope begin() {
+        Scope scope = new Scope();
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Scope of the current request, or null outside one
+     */
+    public static Scope current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.count++;
+            scope.executions.merge(sql, 1, Integer::sum);
+        }
+        return sql;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+}
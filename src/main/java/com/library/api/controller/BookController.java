@@ -1,21 +1,43 @@
 package com.library.api.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.library.api.dto.request.BatchGetRequest;
+import com.library.api.dto.request.BookFilter;
 import com.library.api.dto.request.CreateBookRequest;
 import com.library.api.dto.request.UpdateBookRequest;
+import com.library.api.dto.response.BatchResponse;
+import com.library.api.dto.response.BookChangesResponse;
 import com.library.api.dto.response.BookResponse;
+import com.library.api.dto.response.BulkImportResponse;
+import com.library.api.dto.response.FacetsResponse;
 import com.library.api.dto.response.PageResponse;
+import com.library.api.service.BookExportService;
+import com.library.api.service.BookImportService;
 import com.library.api.service.BookService;
+import com.library.api.service.BookSyncService;
+import com.library.api.service.CatalogFormat;
+import com.library.api.util.ConditionalRequests;
+import com.library.api.util.FieldSelection;
+import com.library.api.util.KeysetCursor;
 import com.library.api.util.PaginationUtils;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * REST Controller for Book endpoints
@@ -28,41 +50,218 @@ import java.time.LocalDate;
 public class BookController {
 
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final BookExportService bookExportService;
+    private final BookSyncService bookSyncService;
 
     /**
      * GET /api/books
      * Get all books with optional filtering (paginated)
+     * All supplied filters are combined into one query; startDate/endDate bound the publication date
+     * Passing a cursor parameter (empty for the first page) switches to keyset pagination
+     * withTotal=false skips the count query and omits totalElements/totalPages
+     * fields=id,title,... returns and reads only those fields (the library is joined only for libraryName)
+     * Answers 304 when nothing matching the filters changed since the client's ETag/Last-Modified
+     * (the filtered version is only queried for such conditional requests)
      */
     @GetMapping
     public ResponseEntity<PageResponse<BookResponse>> getAllBooks(
+            WebRequest webRequest,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id,asc") String sort,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestParam(required = false) String cursor,
             @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate acquiredFrom,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate acquiredTo,
             @RequestParam(required = false) String author,
-            @RequestParam(required = false) String genre) {
+            @RequestParam(required = false) String genre,
+            @RequestParam(required = false) Long libraryId,
+            @RequestParam(required = false) Integer minPages,
+            @RequestParam(required = false) Integer maxPages,
+            @RequestParam(required = false) String fields) {
         
-        log.info("GET /api/books - page: {}, size: {}, startDate: {}, endDate: {}", page, size, startDate, endDate);
+        BookFilter filter = BookFilter.builder()
+                .libraryId(libraryId)
+                .publishedFrom(startDate)
+                .publishedTo(endDate)
+                .acquiredFrom(acquiredFrom)
+                .acquiredTo(acquiredTo)
+                .minPages(minPages)
+                .maxPages(maxPages)
+                .genre(genre)
+                .author(author)
+                .build();
+        
+        log.debug("GET /api/books - page: {}, size: {}, filter: {}", page, size, filter);
+        
+        FieldSelection selection = FieldSelection.of(webRequest, fields, BookResponse.FIELDS);
+        
+        if (ConditionalRequests.isNotModified(webRequest, () -> bookService.getBooksVersion(filter))) {
+            return null;
+        }
+        
+        if (cursor != null) {
+            return ConditionalRequests.ok(webRequest,
+                    bookService.getAllBooks(filter, KeysetCursor.of(cursor, sort), size, selection));
+        }
         
         Pageable pageable = PaginationUtils.createPageable(page, size, sort);
+        PageResponse<BookResponse> response = bookService.getAllBooks(filter, pageable, withTotal, selection);
+        
+        return ConditionalRequests.ok(webRequest, response);
+    }
+
+    /**
+     * GET /api/books?ids=1,2,3
+     * Get several books by ID with one query, in the order of the IDs
+     * Unknown IDs are listed under missing; at most library.batch.max-size IDs per request
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchResponse<BookResponse>> getBooksByIds(
+            WebRequest webRequest,
+            @RequestParam List<Long> ids,
+            @RequestParam(required = false) String fields) {
         
-        // Apply filters using a cleaner approach
-        PageResponse<BookResponse> response = getFilteredBooks(pageable, startDate, endDate, author, genre);
+        log.debug("GET /api/books - ids: {}", ids);
         
+        FieldSelection.of(webRequest, fields, BookResponse.FIELDS);
+        return ResponseEntity.ok(bookService.getBooksByIds(ids));
+    }
+
+    /**
+     * POST /api/books/batch-get
+     * Same as GET /api/books?ids=..., for ID lists too long for a URL
+     */
+    @PostMapping(path = "/batch-get", consumes = "application/json")
+    public ResponseEntity<BatchResponse<BookResponse>> batchGetBooks(
+            WebRequest webRequest,
+            @Valid @RequestBody BatchGetRequest request,
+            @RequestParam(required = false) String fields) {
+        
+        log.debug("POST /api/books/batch-get - {} ids", request.getIds().size());
+        
+        FieldSelection.of(webRequest, fields, BookResponse.FIELDS);
+        return ResponseEntity.ok(bookService.getBooksByIds(request.getIds()));
+    }
+
+    /**
+     * GET /api/books/facets
+     * Genre, library and publication decade counts for the same filters as GET /api/books
+     * Without filters the counts are served from memory; otherwise one grouped query per facet
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<FacetsResponse> getFacets(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate acquiredFrom,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate acquiredTo,
+            @RequestParam(required = false) String author,
+            @RequestParam(required = false) String genre,
+            @RequestParam(required = false) Long libraryId,
+            @RequestParam(required = false) Integer minPages,
+            @RequestParam(required = false) Integer maxPages) {
+        
+        BookFilter filter = BookFilter.builder()
+                .libraryId(libraryId)
+                .publishedFrom(startDate)
+                .publishedTo(endDate)
+                .acquiredFrom(acquiredFrom)
+                .acquiredTo(acquiredTo)
+                .minPages(minPages)
+                .maxPages(maxPages)
+                .genre(genre)
+                .author(author)
+                .build();
+        
+        log.debug("GET /api/books/facets - filter: {}", filter);
+        
+        FacetsResponse response = bookService.getFacets(filter);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * GET /api/books/search?q=
+     * Full-text search over title and author, ranked by relevance (tolerates typos)
+     */
+    @GetMapping("/search")
+    public ResponseEntity<PageResponse<BookResponse>> searchBooks(
+            WebRequest webRequest,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String fields) {
+        
+        log.debug("GET /api/books/search - q: {}, page: {}, size: {}", q, page, size);
+        
+        FieldSelection.of(webRequest, fields, BookResponse.FIELDS);
+        PageResponse<BookResponse> response = bookService.searchBooks(q, PageRequest.of(page, size));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * GET /api/books/changes
+     * Books changed or deleted since a point in time, for mirrors syncing incrementally
+     * Follow nextCursor until last is true and pass syncedUpTo as since next time;
+     * without since every book is returned (full sync). 410 when since is older than the kept deletes
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<BookChangesResponse> getChanges(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "500") int size) {
+        
+        log.debug("GET /api/books/changes - since: {}, cursor: {}, size: {}", since, cursor, size);
+        
+        return ResponseEntity.ok(bookSyncService.getChanges(since, cursor, size));
+    }
+
     /**
      * GET /api/books/{id}
      * Get book by ID
+     * Validators come from the cached response; the version-only query runs for conditional
+     * requests and answers 304 when the client's ETag/Last-Modified is current
      */
     @GetMapping("/{id}")
-    public ResponseEntity<BookResponse> getBookById(@PathVariable Long id) {
-        log.info("GET /api/books/{}", id);
+    public ResponseEntity<BookResponse> getBookById(
+            @PathVariable Long id,
+            WebRequest webRequest,
+            @RequestParam(required = false) String fields) {
+        
+        log.debug("GET /api/books/{}", id);
+        
+        // The full response is cached by ID, so fields only narrows the JSON here
+        FieldSelection.of(webRequest, fields, BookResponse.FIELDS);
+        if (ConditionalRequests.isNotModified(webRequest, () -> bookService.getBookVersion(id))) {
+            return null;
+        }
         
         BookResponse response = bookService.getBookById(id);
-        return ResponseEntity.ok(response);
+        return ConditionalRequests.ok(webRequest, response, response.getLastModified(), 1);
+    }
+
+    /**
+     * GET /api/books/isbn/{isbn}
+     * Get book by ISBN
+     * Validators work as for GET /api/books/{id}
+     */
+    @GetMapping("/isbn/{isbn}")
+    public ResponseEntity<BookResponse> getBookByIsbn(
+            @PathVariable String isbn,
+            WebRequest webRequest,
+            @RequestParam(required = false) String fields) {
+        
+        log.debug("GET /api/books/isbn/{}", isbn);
+        
+        FieldSelection.of(webRequest, fields, BookResponse.FIELDS);
+        if (ConditionalRequests.isNotModified(webRequest, () -> bookService.getBookVersionByIsbn(isbn))) {
+            return null;
+        }
+        
+        BookResponse response = bookService.getBookByIsbn(isbn);
+        return ConditionalRequests.ok(webRequest, response, response.getLastModified(), 1);
     }
 
     /**
@@ -71,12 +270,52 @@ public class BookController {
      */
     @PostMapping
     public ResponseEntity<BookResponse> createBook(@Valid @RequestBody CreateBookRequest request) {
-        log.info("POST /api/books - title: {}, libraryId: {}", request.getTitle(), request.getLibraryId());
+        log.debug("POST /api/books - title: {}, libraryId: {}", request.getTitle(), request.getLibraryId());
         
         BookResponse response = bookService.createBook(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * POST /api/books/bulk
+     * Bulk import books from newline-delimited JSON (one CreateBookRequest per line)
+     */
+    @PostMapping(path = "/bulk", consumes = "application/x-ndjson")
+    public ResponseEntity<BulkImportResponse> importBooksNdjson(InputStream body) {
+        log.debug("POST /api/books/bulk - format: NDJSON");
+        
+        BulkImportResponse response = bookImportService.importBooks(body, CatalogFormat.NDJSON);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * POST /api/books/bulk
+     * Bulk import books from CSV (header row with CreateBookRequest field names)
+     */
+    @PostMapping(path = "/bulk", consumes = "text/csv")
+    public ResponseEntity<BulkImportResponse> importBooksCsv(InputStream body) {
+        log.debug("POST /api/books/bulk - format: CSV");
+        
+        BulkImportResponse response = bookImportService.importBooks(body, CatalogFormat.CSV);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * GET /api/books/export
+     * Stream the whole catalog as NDJSON (default) or CSV
+     */
+    @GetMapping(path = "/export", produces = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<StreamingResponseBody> exportBooks(@RequestParam(defaultValue = "ndjson") String format) {
+        log.debug("GET /api/books/export - format: {}", format);
+        
+        CatalogFormat catalogFormat = CatalogFormat.fromParameter(format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(catalogFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"books." + catalogFormat.getFileExtension() + "\"")
+                .body(output -> bookExportService.exportBooks(null, catalogFormat, output));
+    }
+
     /**
      * PUT /api/books/{id}
      * Update existing book
@@ -86,19 +325,35 @@ public class BookController {
             @PathVariable Long id,
             @Valid @RequestBody UpdateBookRequest request) {
         
-        log.info("PUT /api/books/{} - title: {}", id, request.getTitle());
+        log.debug("PUT /api/books/{} - title: {}", id, request.getTitle());
         
         BookResponse response = bookService.updateBook(id, request);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * PATCH /api/books/{id}
+     * Partial update with a JSON merge patch: present fields replace (null clears), absent fields are kept
+     * Only the patched fields are validated, and only changed columns are written
+     */
+    @PatchMapping(path = "/{id}", consumes = "application/merge-patch+json")
+    public ResponseEntity<BookResponse> patchBook(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch) {
+        
+        log.debug("PATCH /api/books/{} - fields: {}", id, patch.properties().size());
+        
+        BookResponse response = bookService.patchBook(id, patch);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * DELETE /api/books/{id}
      * Delete book
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteBook(@PathVariable Long id) {
-        log.info("DELETE /api/books/{}", id);
+        log.debug("DELETE /api/books/{}", id);
         
         bookService.deleteBook(id);
         return ResponseEntity.noContent().build();
@@ -115,15 +370,20 @@ public class BookController {
             @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "publicationDate,asc") String sort) {
+            @RequestParam(defaultValue = "publicationDate,asc") String sort,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
 
         LocalDate effectiveStartDate = (startDate != null) ? startDate : LocalDate.of(1000, 1, 1);
         LocalDate effectiveEndDate = (endDate != null) ? endDate : LocalDate.now();
 
-        log.info("GET /api/books/by-publication-date - startDate: {}, endDate: {}", effectiveStartDate, effectiveEndDate);
+        log.debug("GET /api/books/by-publication-date - startDate: {}, endDate: {}", effectiveStartDate, effectiveEndDate);
 
         Pageable pageable = PaginationUtils.createPageable(page, size, sort);
-        PageResponse<BookResponse> response = bookService.getBooksByPublicationDateRange(effectiveStartDate, effectiveEndDate, pageable);
+        PageResponse<BookResponse> response = bookService.getBooksByPublicationDateRange(
+                effectiveStartDate, effectiveEndDate, pageable, withTotal,
+                FieldSelection.of(webRequest, fields, BookResponse.FIELDS));
 
         return ResponseEntity.ok(response);
     }
@@ -139,37 +399,21 @@ public class BookController {
             @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "acquisitionDate,asc") String sort) {
+            @RequestParam(defaultValue = "acquisitionDate,asc") String sort,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
 
         LocalDate effectiveStartDate = (startDate != null) ? startDate : LocalDate.of(1000, 1, 1);
         LocalDate effectiveEndDate = (endDate != null) ? endDate : LocalDate.now();
 
-        log.info("GET /api/books/by-acquisition-date - startDate: {}, endDate: {}", effectiveStartDate, effectiveEndDate);
+        log.debug("GET /api/books/by-acquisition-date - startDate: {}, endDate: {}", effectiveStartDate, effectiveEndDate);
 
         Pageable pageable = PaginationUtils.createPageable(page, size, sort);
-        PageResponse<BookResponse> response = bookService.getBooksByAcquisitionDateRange(effectiveStartDate, effectiveEndDate, pageable);
+        PageResponse<BookResponse> response = bookService.getBooksByAcquisitionDateRange(
+                effectiveStartDate, effectiveEndDate, pageable, withTotal,
+                FieldSelection.of(webRequest, fields, BookResponse.FIELDS));
 
         return ResponseEntity.ok(response);
     }
-
-    /**
-     * Private helper method to apply filters (DRY principle)
-     */
-    private PageResponse<BookResponse> getFilteredBooks(
-            Pageable pageable, 
-            LocalDate startDate, 
-            LocalDate endDate, 
-            String author, 
-            String genre) {
-        
-        if (startDate != null && endDate != null) {
-            return bookService.getBooksByPublicationDateRange(startDate, endDate, pageable);
-        } else if (author != null && !author.trim().isEmpty()) {
-            return bookService.searchBooksByAuthor(author, pageable);
-        } else if (genre != null && !genre.trim().isEmpty()) {
-            return bookService.getBooksByGenre(genre, pageable);
-        } else {
-            return bookService.getAllBooks(pageable);
-        }
-    }
 }
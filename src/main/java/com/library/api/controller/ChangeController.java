@@ -0,0 +1,38 @@
+package com.library.api.controller;
+
+import com.library.api.feed.ChangeStreams;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST Controller for the change feed
+ * Streams committed book and library changes so clients do not have to poll the lists
+ */
+@RestController
+@RequestMapping(path = "/api/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+@RequiredArgsConstructor
+@Slf4j
+public class ChangeController {
+
+    private final ChangeStreams changeStreams;
+
+    /**
+     * GET /api/changes
+     * Server-sent events, one per created/updated/deleted book or library (event ID = sequence number)
+     * Reconnecting clients send Last-Event-ID to resume after the last event they saw; a "reset"
+     * event means events were missed (too slow, or too old to resume) and the client should resync.
+     * Deleting a library emits a single library event for the library and all its books.
+     */
+    @GetMapping
+    public SseEmitter streamChanges(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        log.debug("GET /api/changes - Last-Event-ID: {}", lastEventId);
+        
+        return changeStreams.subscribe(lastEventId);
+    }
+}
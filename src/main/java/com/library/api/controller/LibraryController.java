@@ -1,19 +1,36 @@
 package com.library.api.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.library.api.dto.request.BatchGetRequest;
 import com.library.api.dto.request.CreateLibraryRequest;
 import com.library.api.dto.request.UpdateLibraryRequest;
+import com.library.api.dto.response.BatchResponse;
 import com.library.api.dto.response.BookResponse;
+import com.library.api.dto.response.LibraryDeletionResponse;
 import com.library.api.dto.response.LibraryResponse;
 import com.library.api.dto.response.PageResponse;
+import com.library.api.service.BookExportService;
+import com.library.api.service.CatalogFormat;
+import com.library.api.service.LibraryDeletionService;
 import com.library.api.service.LibraryService;
+import com.library.api.util.ConditionalRequests;
+import com.library.api.util.FieldSelection;
+import com.library.api.util.KeysetCursor;
 import com.library.api.util.PaginationUtils;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.net.URI;
+import java.util.List;
 
 /**
  * REST Controller for Library endpoints
@@ -26,35 +43,96 @@ import org.springframework.web.bind.annotation.*;
 public class LibraryController {
 
     private final LibraryService libraryService;
+    private final LibraryDeletionService libraryDeletionService;
+    private final BookExportService bookExportService;
 
     /**
      * GET /api/libraries
      * Get all libraries (paginated)
+     * withTotal=false skips the count query and omits totalElements/totalPages
+     * fields=id,name,... returns only those fields; book counts are only queried for totalBooks
+     * Answers 304 when no library or book changed since the client's ETag/Last-Modified
+     * (the version is only queried for such conditional requests)
      */
     @GetMapping
     public ResponseEntity<PageResponse<LibraryResponse>> getAllLibraries(
+            WebRequest webRequest,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "id,asc") String sort) {
+            @RequestParam(defaultValue = "id,asc") String sort,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestParam(required = false) String fields) {
+        
+        log.debug("GET /api/libraries - page: {}, size: {}, sort: {}", page, size, sort);
+        
+        FieldSelection selection = FieldSelection.of(webRequest, fields, LibraryResponse.FIELDS);
         
-        log.info("GET /api/libraries - page: {}, size: {}, sort: {}", page, size, sort);
+        if (ConditionalRequests.isNotModified(webRequest, libraryService::getLibrariesVersion)) {
+            return null;
+        }
         
         Pageable pageable = PaginationUtils.createPageable(page, size, sort);
-        PageResponse<LibraryResponse> response = libraryService.getAllLibraries(pageable);
+        PageResponse<LibraryResponse> response = libraryService.getAllLibraries(pageable, withTotal, selection);
         
-        return ResponseEntity.ok(response);
+        return ConditionalRequests.ok(webRequest, response);
+    }
+
+    /**
+     * GET /api/libraries?ids=1,2,3
+     * Get several libraries by ID (one query plus one grouped book count), in the order of the IDs
+     * Unknown IDs are listed under missing; at most library.batch.max-size IDs per request
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchResponse<LibraryResponse>> getLibrariesByIds(
+            WebRequest webRequest,
+            @RequestParam List<Long> ids,
+            @RequestParam(required = false) String fields) {
+        
+        log.debug("GET /api/libraries - ids: {}", ids);
+        
+        FieldSelection.of(webRequest, fields, LibraryResponse.FIELDS);
+        return ResponseEntity.ok(libraryService.getLibrariesByIds(ids));
+    }
+
+    /**
+     * POST /api/libraries/batch-get
+     * Same as GET /api/libraries?ids=..., for ID lists too long for a URL
+     */
+    @PostMapping(path = "/batch-get", consumes = "application/json")
+    public ResponseEntity<BatchResponse<LibraryResponse>> batchGetLibraries(
+            WebRequest webRequest,
+            @Valid @RequestBody BatchGetRequest request,
+            @RequestParam(required = false) String fields) {
+        
+        log.debug("POST /api/libraries/batch-get - {} ids", request.getIds().size());
+        
+        FieldSelection.of(webRequest, fields, LibraryResponse.FIELDS);
+        return ResponseEntity.ok(libraryService.getLibrariesByIds(request.getIds()));
     }
 
     /**
      * GET /api/libraries/{id}
      * Get library by ID
+     * Validators come from the cached response; the version-only query runs for conditional
+     * requests and answers 304 when the client's ETag/Last-Modified is current
      */
     @GetMapping("/{id}")
-    public ResponseEntity<LibraryResponse> getLibraryById(@PathVariable Long id) {
-        log.info("GET /api/libraries/{}", id);
+    public ResponseEntity<LibraryResponse> getLibraryById(
+            @PathVariable Long id,
+            WebRequest webRequest,
+            @RequestParam(required = false) String fields) {
+        
+        log.debug("GET /api/libraries/{}", id);
+        
+        // The full response is cached by ID, so fields only narrows the JSON here
+        FieldSelection.of(webRequest, fields, LibraryResponse.FIELDS);
+        if (ConditionalRequests.isNotModified(webRequest, () -> libraryService.getLibraryVersion(id))) {
+            return null;
+        }
         
         LibraryResponse response = libraryService.getLibraryById(id);
-        return ResponseEntity.ok(response);
+        return ConditionalRequests.ok(webRequest, response,
+                response.getLastModified(), response.getTotalBooks());
     }
 
     /**
@@ -65,7 +143,7 @@ public class LibraryController {
     public ResponseEntity<LibraryResponse> createLibrary(
             @Valid @RequestBody CreateLibraryRequest request) {
         
-        log.info("POST /api/libraries - name: {}", request.getName());
+        log.debug("POST /api/libraries - name: {}", request.getName());
         
         LibraryResponse response = libraryService.createLibrary(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
@@ -80,40 +158,114 @@ public class LibraryController {
             @PathVariable Long id,
             @Valid @RequestBody UpdateLibraryRequest request) {
         
-        log.info("PUT /api/libraries/{} - name: {}", id, request.getName());
+        log.debug("PUT /api/libraries/{} - name: {}", id, request.getName());
         
         LibraryResponse response = libraryService.updateLibrary(id, request);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * PATCH /api/libraries/{id}
+     * Partial update with a JSON merge patch: present fields replace (null clears), absent fields are kept
+     * Only the patched fields are validated, and only changed columns are written
+     */
+    @PatchMapping(path = "/{id}", consumes = "application/merge-patch+json")
+    public ResponseEntity<LibraryResponse> patchLibrary(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch) {
+        
+        log.debug("PATCH /api/libraries/{} - fields: {}", id, patch.properties().size());
+        
+        LibraryResponse response = libraryService.patchLibrary(id, patch);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * DELETE /api/libraries/{id}
      * Delete library (cascade deletes all books)
+     * Answers 204 once deleted, or 202 with the deletion progress when a large library
+     * is deleted in the background (poll the Location header, GET /api/libraries/{id}/deletion)
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteLibrary(@PathVariable Long id) {
-        log.info("DELETE /api/libraries/{}", id);
+    public ResponseEntity<LibraryDeletionResponse> deleteLibrary(@PathVariable Long id) {
+        log.debug("DELETE /api/libraries/{}", id);
+        
+        LibraryDeletionResponse deletion = libraryDeletionService.deleteLibrary(id);
+        if (deletion.getStatus() == LibraryDeletionResponse.Status.COMPLETED) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/libraries/" + id + "/deletion"))
+                .body(deletion);
+    }
+
+    /**
+     * GET /api/libraries/{id}/deletion
+     * Get the progress of a background library deletion (kept for a while after it finishes)
+     */
+    @GetMapping("/{id}/deletion")
+    public ResponseEntity<LibraryDeletionResponse> getDeletion(@PathVariable Long id) {
+        log.debug("GET /api/libraries/{}/deletion", id);
         
-        libraryService.deleteLibrary(id);
-        return ResponseEntity.noContent().build();
+        return ResponseEntity.ok(libraryDeletionService.getDeletion(id));
     }
 
     /**
      * GET /api/libraries/{id}/books
      * Get all books for a specific library (paginated)
+     * Passing a cursor parameter (empty for the first page) switches to keyset pagination
+     * withTotal=false skips the count query and omits totalElements/totalPages
+     * Answers 304 when none of the library's books changed since the client's ETag/Last-Modified
+     * (the version is only queried for such conditional requests)
      */
     @GetMapping("/{id}/books")
     public ResponseEntity<PageResponse<BookResponse>> getBooksByLibraryId(
             @PathVariable Long id,
+            WebRequest webRequest,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "title,asc") String sort) {
+            @RequestParam(defaultValue = "title,asc") String sort,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields) {
         
-        log.info("GET /api/libraries/{}/books - page: {}, size: {}", id, page, size);
+        log.debug("GET /api/libraries/{}/books - page: {}, size: {}", id, page, size);
+        
+        FieldSelection selection = FieldSelection.of(webRequest, fields, BookResponse.FIELDS);
+        if (ConditionalRequests.isNotModified(webRequest, () -> libraryService.getLibraryBooksVersion(id))) {
+            return null;
+        }
+        
+        if (cursor != null) {
+            return ConditionalRequests.ok(webRequest,
+                    libraryService.getBooksByLibraryId(id, KeysetCursor.of(cursor, sort), size, selection));
+        }
         
         Pageable pageable = PaginationUtils.createPageable(page, size, sort);
-        PageResponse<BookResponse> response = libraryService.getBooksByLibraryId(id, pageable);
+        PageResponse<BookResponse> response = libraryService.getBooksByLibraryId(id, pageable, withTotal, selection);
         
-        return ResponseEntity.ok(response);
+        return ConditionalRequests.ok(webRequest, response);
+    }
+
+    /**
+     * GET /api/libraries/{id}/books/export
+     * Stream all books of a library as NDJSON (default) or CSV
+     */
+    @GetMapping(path = "/{id}/books/export", produces = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<StreamingResponseBody> exportBooksByLibraryId(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        
+        log.debug("GET /api/libraries/{}/books/export - format: {}", id, format);
+        
+        CatalogFormat catalogFormat = CatalogFormat.fromParameter(format);
+        // Fail with 404 before the response is committed
+        libraryService.getLibraryById(id);
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(catalogFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"library-" + id + "-books." + catalogFormat.getFileExtension() + "\"")
+                .body(output -> bookExportService.exportBooks(id, catalogFormat, output));
     }
 }
@@ -0,0 +1,22 @@
+package com.library.api.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for fetching several resources by ID in one request
+ * Used in POST /api/books/batch-get and POST /api/libraries/batch-get
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetRequest {
+
+    @NotEmpty(message = "At least one ID is required")
+    private List<@NotNull(message = "IDs must not be null") Long> ids;
+}
@@ -0,0 +1,50 @@
+package com.library.api.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Optional filters for GET /api/books
+ * All non-null criteria are combined (AND) into a single query; range bounds are inclusive
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookFilter {
+
+    private Long libraryId;
+
+    private LocalDate publishedFrom;
+
+    private LocalDate publishedTo;
+
+    private LocalDate acquiredFrom;
+
+    private LocalDate acquiredTo;
+
+    private Integer minPages;
+
+    private Integer maxPages;
+
+    private String genre;
+
+    private String author;
+
+    /**
+     * True when no criterion is set, i.e. the filter matches every book
+     * (blank genre/author are ignored, as in BookSpecifications)
+     */
+    public boolean isEmpty() {
+        return libraryId == null
+                && publishedFrom == null && publishedTo == null
+                && acquiredFrom == null && acquiredTo == null
+                && minPages == null && maxPages == null
+                && (genre == null || genre.isBlank())
+                && (author == null || author.isBlank());
+    }
+}
@@ -0,0 +1,47 @@
+package com.library.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generic DTO for batch fetches by ID
+ * Found items keep the order of the requested IDs; unknown IDs are listed instead of failing the request
+ * 
+ * @param <T> Type of items (e.g., LibraryResponse, BookResponse)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchResponse<T> {
+
+    private List<T> content;            // Found items, in request order
+    private List<Long> missing;         // Requested IDs that do not exist, in request order
+
+    /**
+     * Arrange the found items in the order of the requested IDs
+     * 
+     * @param ids Requested IDs (without duplicates)
+     * @param found Items keyed by ID, in any order
+     */
+    public static <T> BatchResponse<T> of(Collection<Long> ids, Map<Long, T> found) {
+        List<T> content = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            T item = found.get(id);
+            if (item != null) {
+                content.add(item);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new BatchResponse<>(content, missing);
+    }
+}
@@ -0,0 +1,29 @@
+package com.library.api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one entry of a delta sync page
+ * UPSERT carries the current book, DELETE only the ID and library of the removed book
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL) // Deletes have no book
+public class BookChange {
+
+    public enum Type { UPSERT, DELETE }
+
+    private Type type;
+    private Long id;
+    private LocalDateTime changedAt;    // updated_at of the book, or when it was deleted
+    private Long libraryId;             // Library the book belonged to (DELETE only)
+    private BookResponse book;          // Current state (UPSERT only)
+}
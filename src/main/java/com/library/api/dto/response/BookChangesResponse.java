@@ -0,0 +1,27 @@
+package com.library.api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for a page of GET /api/books/changes
+ * Follow nextCursor until last is true, then keep syncedUpTo as the next since
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL) // Omit the fields that only apply to the last page (or to the others)
+public class BookChangesResponse {
+
+    private List<BookChange> changes;   // In (changedAt, id) order
+    private boolean last;               // No further pages in this sync
+    private String nextCursor;          // Continuation token for the next page (not on the last page)
+    private LocalDateTime syncedUpTo;   // All changes before this are included (last page only)
+}
@@ -1,24 +1,39 @@
 package com.library.api.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.library.api.util.FieldSelection;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
 
 /**
  * DTO for Book response
  * Used in GET /api/books endpoints
  * Exposes only essential book information
+ * 
+ * Read queries build it with a constructor expression, so the field order
+ * (and therefore the all-args constructor) must match BookRepository.RESPONSE_SELECT
  */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonFilter(FieldSelection.FILTER) // fields=... (sparse fieldsets)
 public class BookResponse {
 
+    /**
+     * Properties that can be selected with the fields parameter
+     */
+    public static final Set<String> FIELDS = Set.of("id", "isbn", "title", "author", "genre", "publicationDate",
+            "acquisitionDate", "pages", "libraryId", "libraryName");
+
     private Long id;
     private String isbn;
     private String title;
@@ -36,4 +51,9 @@ public class BookResponse {
     // Reference to parent library (ID and name only, not full object)
     private Long libraryId;
     private String libraryName;
+
+    // updated_at of the book: validator of a cached single-book response (not serialized; null on
+    // field-selected list reads)
+    @JsonIgnore
+    private LocalDateTime lastModified;
 }
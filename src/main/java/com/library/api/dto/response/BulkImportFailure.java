@@ -0,0 +1,22 @@
+package com.library.api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a rejected bulk import line
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL) // Only include non-null fields in JSON
+public class BulkImportFailure {
+
+    private long line;          // Line number in the uploaded file (1-indexed)
+    private String isbn;        // ISBN of the row, if it could be read
+    private String error;       // Reason the line was rejected
+}
@@ -0,0 +1,26 @@
+package com.library.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for bulk import responses
+ * Used in POST /api/books/bulk
+ * Counts every outcome and lists the first failures by line (library.bulk-import.max-reported-failures),
+ * so the response stays small however large the upload
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkImportResponse {
+
+    private long total;                         // Number of rows read
+    private long imported;                      // Number of books created
+    private long failed;                        // Number of rows rejected
+    private List<BulkImportFailure> failures;   // Earliest rejected lines, at most the configured number
+}
@@ -0,0 +1,32 @@
+package com.library.api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one committed change in the change feed (GET /api/changes)
+ * Carries only what changed, not the new state; clients fetch the resource if they need it
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL) // Only include non-null fields in JSON
+public class ChangeEvent {
+
+    public enum Entity { BOOK, LIBRARY }
+
+    public enum Action { CREATED, UPDATED, DELETED }
+
+    private long seq;                   // Position in the feed, also the SSE event ID
+    private Entity entity;
+    private Action action;
+    private Long id;
+    private Long libraryId;             // Library of a changed book
+    private LocalDateTime committedAt;
+}
@@ -0,0 +1,22 @@
+package com.library.api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one facet value and the number of matching books
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL) // Only include non-null fields in JSON
+public class FacetValue {
+
+    private String value;       // Filter value (genre, library ID or first year of the decade)
+    private String label;       // Display name where it differs from the value (genre as written, library name)
+    private long count;
+}
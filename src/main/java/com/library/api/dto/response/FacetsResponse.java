@@ -0,0 +1,24 @@
+package com.library.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for GET /api/books/facets
+ * Genres and libraries are ordered by count (highest first), decades chronologically
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FacetsResponse {
+
+    private long total;
+    private List<FacetValue> genres;
+    private List<FacetValue> libraries;
+    private List<FacetValue> decades;
+}
@@ -0,0 +1,31 @@
+package com.library.api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for the progress of a library deletion
+ * Large libraries are deleted in the background, chunk by chunk
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL) // Only include non-null fields in JSON
+public class LibraryDeletionResponse {
+
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    private Long libraryId;
+    private Status status;
+    private long totalBooks;            // Books in the library when the deletion started
+    private long deletedBooks;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;               // Reason the deletion stopped (FAILED only)
+}
@@ -1,12 +1,17 @@
 package com.library.api.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.library.api.util.FieldSelection;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
 
 /**
  * DTO for Library response (without book details)
@@ -17,8 +22,15 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonFilter(FieldSelection.FILTER) // fields=... (sparse fieldsets)
 public class LibraryResponse {
 
+    /**
+     * Properties that can be selected with the fields parameter
+     */
+    public static final Set<String> FIELDS = Set.of("id", "name", "address", "phone", "email", "establishedDate",
+            "totalBooks");
+
     private Long id;
     private String name;
     private String address;
@@ -30,4 +42,9 @@ public class LibraryResponse {
 
     // Transient field - not from entity directly
     private Integer totalBooks;
+
+    // Latest updated_at of the library and its books: with totalBooks, the validators of a cached
+    // single-library response (not serialized; null on list reads)
+    @JsonIgnore
+    private LocalDateTime lastModified;
 }
@@ -1,5 +1,6 @@
 package com.library.api.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,16 +18,18 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL) // Omit metadata that does not apply to the pagination mode
 public class PageResponse<T> {
 
     private List<T> content;           // The actual data items
-    private int pageNumber;             // Current page number (0-indexed)
+    private Integer pageNumber;         // Current page number (0-indexed), null in cursor mode
     private int pageSize;               // Number of items per page
-    private long totalElements;         // Total number of items across all pages
-    private int totalPages;             // Total number of pages
+    private Long totalElements;         // Total number of items across all pages, null without totals
+    private Integer totalPages;         // Total number of pages, null without totals
     private boolean first;              // Is this the first page?
     private boolean last;               // Is this the last page?
     private boolean empty;              // Is the page empty?
+    private String nextCursor;          // Continuation token for the next page (cursor mode only)
 
     /**
      * Factory method to create PageResponse from Spring's Page object
@@ -43,4 +46,40 @@ public class PageResponse<T> {
                 .empty(page.isEmpty())
                 .build();
     }
+
+    /**
+     * Factory method to create PageResponse from Spring's Slice object
+     * A plain Slice has no count query behind it, so the totals are left out
+     */
+    public static <T> PageResponse<T> of(org.springframework.data.domain.Slice<T> slice) {
+        if (slice instanceof org.springframework.data.domain.Page<T> page) {
+            return of(page);
+        }
+        return PageResponse.<T>builder()
+                .content(slice.getContent())
+                .pageNumber(slice.getNumber())
+                .pageSize(slice.getSize())
+                .first(slice.isFirst())
+                .last(slice.isLast())
+                .empty(slice.isEmpty())
+                .build();
+    }
+
+    /**
+     * Factory method to create PageResponse from Spring's Window object (keyset pagination)
+     */
+    public static <T> PageResponse<T> of(
+            org.springframework.data.domain.Window<T> window,
+            int pageSize,
+            boolean first,
+            String nextCursor) {
+        return PageResponse.<T>builder()
+                .content(window.getContent())
+                .pageSize(pageSize)
+                .first(first)
+                .last(!window.hasNext())
+                .empty(window.isEmpty())
+                .nextCursor(nextCursor)
+                .build();
+    }
 }
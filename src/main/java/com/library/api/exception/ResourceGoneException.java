@@ -0,0 +1,12 @@
+package com.library.api.exception;
+
+/**
+ * Custom exception for requests referring to history that is no longer kept
+ * Returns HTTP 410 status code
+ */
+public class ResourceGoneException extends RuntimeException {
+
+    public ResourceGoneException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.library.api.exception;
+
+/**
+ * Custom exception for temporary overload scenarios
+ * Returns HTTP 503 status code
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
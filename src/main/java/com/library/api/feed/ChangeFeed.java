@@ -0,0 +1,116 @@
+package com.library.api.feed;
+
+import com.library.api.dto.response.ChangeEvent;
+import com.library.api.index.TransactionHooks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded in-memory log of committed book and library changes
+ * Write paths publish events after their transaction commits; each event gets the next
+ * sequence number and overwrites the oldest one once library.changes.buffer-size events are
+ * held. Appending never waits for readers, so a slow subscriber cannot stall writers: it just
+ * finds that the events it has not read yet were overwritten (see {@link Batch#gap()}).
+ *
+ * Sequence numbers start from the boot time in microseconds, so they keep growing across
+ * restarts and a client resuming with an ID from an earlier run sees a gap instead of
+ * silently skipping or repeating events.
+ */
+@Component
+public class ChangeFeed {
+
+    private final ChangeEvent[] ring;
+    private final long firstSequence;
+    private long nextSequence;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+
+    /**
+     * Events read from the feed
+     *
+     * @param gap      true if events after the requested position were already overwritten
+     *                 (or the position is unknown) and the batch resumes at the oldest retained event
+     * @param position sequence number to read after next: the last event returned, or the
+     *                 position the reader was moved to on a gap when no events were returned
+     */
+    public record Batch(List<ChangeEvent> events, boolean gap, long position) {
+    }
+
+    public ChangeFeed(@Value("${library.changes.buffer-size}") int bufferSize) {
+        this.ring = new ChangeEvent[bufferSize];
+        this.firstSequence = System.currentTimeMillis() * 1000;
+        this.nextSequence = firstSequence;
+    }
+
+    /**
+     * Publish a change once the current transaction commits
+     */
+    public void publishAfterCommit(ChangeEvent.Entity entity, ChangeEvent.Action action, Long id, Long libraryId) {
+        TransactionHooks.onCommit(() -> append(entity, action, id, libraryId));
+    }
+
+    /**
+     * Sequence number of the latest event (where a new subscriber starts)
+     */
+    public long lastSequence() {
+        lock.lock();
+        try {
+            return nextSequence - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Read up to max events after the given sequence number, waiting up to timeout for one
+     *
+     * @return the events (empty when none arrived in time)
+     */
+    public Batch read(long afterSequence, int max, Duration timeout) throws InterruptedException {
+        long nanos = timeout.toNanos();
+        lock.lock();
+        try {
+            while (afterSequence == nextSequence - 1 && nanos > 0) {
+                nanos = appended.awaitNanos(nanos);
+            }
+            
+            long oldest = Math.max(firstSequence, nextSequence - ring.length);
+            long from = afterSequence + 1;
+            boolean gap = from < oldest || from > nextSequence;
+            if (gap) {
+                from = oldest;
+            }
+            
+            int count = (int) Math.min(max, nextSequence - from);
+            List<ChangeEvent> events = new ArrayList<>(count);
+            for (long sequence = from; sequence < from + count; sequence++) {
+                events.add(ring[slot(sequence)]);
+            }
+            return new Batch(events, gap, from + count - 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void append(ChangeEvent.Entity entity, ChangeEvent.Action action, Long id, Long libraryId) {
+        lock.lock();
+        try {
+            long sequence = nextSequence++;
+            ring[slot(sequence)] = new ChangeEvent(sequence, entity, action, id, libraryId, LocalDateTime.now());
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int slot(long sequence) {
+        return (int) Math.floorMod(sequence, (long) ring.length);
+    }
+}
@@ -0,0 +1,129 @@
+package com.library.api.feed;
+
+import com.library.api.dto.response.ChangeEvent;
+import com.library.api.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-sent event streams over the {@link ChangeFeed}
+ * Each subscriber is served by its own virtual thread that reads from the feed at its own
+ * pace; a blocked or slow client only holds up that thread. When a subscriber falls so far
+ * behind that its next events were overwritten, it is fast-forwarded to the oldest retained
+ * event after a "reset" event telling it to resynchronize (e.g. with a full GET).
+ * Idle streams get a comment every library.changes.heartbeat so dead clients are noticed.
+ */
+@Component
+@Slf4j
+public class ChangeStreams {
+
+    private static final int SEND_BATCH = 256;
+
+    private final ChangeFeed changeFeed;
+    private final AsyncTaskExecutor changeStreamExecutor; // One virtual thread per stream (see ExecutorConfig)
+    private final int maxSubscribers;
+    private final Duration heartbeat;
+    private final Duration streamTimeout;
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Counter fastForwards;
+
+    public ChangeStreams(
+            ChangeFeed changeFeed,
+            AsyncTaskExecutor changeStreamExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${library.changes.max-subscribers}") int maxSubscribers,
+            @Value("${library.changes.heartbeat}") Duration heartbeat,
+            @Value("${library.changes.stream-timeout}") Duration streamTimeout) {
+        
+        this.changeFeed = changeFeed;
+        this.changeStreamExecutor = changeStreamExecutor;
+        this.maxSubscribers = maxSubscribers;
+        this.heartbeat = heartbeat;
+        this.streamTimeout = streamTimeout;
+        
+        Gauge.builder("library.changes.subscribers", subscribers, AtomicInteger::get)
+                .description("Open change feed streams")
+                .register(meterRegistry);
+        this.fastForwards = Counter.builder("library.changes.fast-forwards")
+                .description("Subscribers skipped past events they were too slow to read")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open a stream of events after lastEventId (or after the latest event when null)
+     *
+     * @throws ServiceUnavailableException if library.changes.max-subscribers streams are open
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            throw new ServiceUnavailableException("Too many change feed subscribers, please retry later");
+        }
+        
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        AtomicBoolean open = new AtomicBoolean(true);
+        emitter.onCompletion(() -> open.set(false));
+        emitter.onTimeout(() -> open.set(false));
+        emitter.onError(ex -> open.set(false));
+        
+        long position = lastEventId != null ? lastEventId : changeFeed.lastSequence();
+        try {
+            changeStreamExecutor.execute(() -> {
+                try {
+                    stream(emitter, open, position);
+                } finally {
+                    subscribers.decrementAndGet();
+                }
+            });
+        } catch (RuntimeException ex) {
+            subscribers.decrementAndGet();
+            throw ex;
+        }
+        return emitter;
+    }
+
+    private void stream(SseEmitter emitter, AtomicBoolean open, long position) {
+        try {
+            // Commits the response so the client sees the stream is open
+            emitter.send(SseEmitter.event().comment("connected"));
+            while (open.get()) {
+                ChangeFeed.Batch batch = changeFeed.read(position, SEND_BATCH, heartbeat);
+                // Always advance, so a gap with nothing to send yet is reported once and then waits
+                position = batch.position();
+                if (batch.gap()) {
+                    fastForwards.increment();
+                    emitter.send(SseEmitter.event().name("reset")
+                            .data(Map.of("lastEventId", position), MediaType.APPLICATION_JSON));
+                }
+                if (batch.events().isEmpty()) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                    continue;
+                }
+                for (ChangeEvent event : batch.events()) {
+                    emitter.send(SseEmitter.event().id(Long.toString(event.getSeq()))
+                            .data(event, MediaType.APPLICATION_JSON));
+                }
+            }
+            emitter.complete();
+        } catch (IOException | IllegalStateException ex) {
+            // Client went away (or the stream timed out); nothing left to clean up
+            log.debug("Change stream closed: {}", ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        }
+    }
+}
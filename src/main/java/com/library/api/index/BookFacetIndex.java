@@ -0,0 +1,170 @@
+package com.library.api.index;
+
+import com.library.api.model.Book;
+import com.library.api.repository.GenreCount;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory book counts per genre, library and publication decade
+ * Answers unfiltered facet requests without touching the database.
+ *
+ * Loaded from grouped counts at startup and kept current by the write paths;
+ * like the other indexes, changes are applied only after the transaction commits.
+ * Genres are counted by their upper-case form, the way the genre filter compares them,
+ * so a facet value used as a filter matches exactly the books it counted; the first
+ * spelling seen is kept as the display label.
+ */
+@Component
+public class BookFacetIndex {
+
+    private final Map<String, Long> genres = new HashMap<>();
+    private final Map<String, String> genreLabels = new HashMap<>();
+    private final Map<Long, Long> libraries = new HashMap<>();
+    private final Map<Integer, Long> decades = new HashMap<>();
+    private long total;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Facet values of one book (null when the book has no value for a facet)
+     */
+    public record FacetKey(String genre, Long libraryId, Integer decade) {
+
+        public static FacetKey of(Book book) {
+            return of(book.getGenre(), book.getLibrary() != null ? book.getLibrary().getId() : null,
+                    book.getPublicationDate());
+        }
+
+        public static FacetKey of(String genre, Long libraryId, LocalDate publicationDate) {
+            return new FacetKey(genre, libraryId,
+                    publicationDate != null ? decadeOf(publicationDate.getYear()) : null);
+        }
+    }
+
+    /**
+     * Copy of the counts at one point in time
+     */
+    public record Snapshot(long total, List<GenreCount> genres, Map<Long, Long> libraries,
+                           Map<Integer, Long> decades) {
+    }
+
+    /**
+     * Count a book once the current transaction commits
+     */
+    public void addAfterCommit(FacetKey key) {
+        TransactionHooks.onCommit(() -> apply(key, 1));
+    }
+
+    /**
+     * Stop counting a book once the current transaction commits
+     */
+    public void removeAfterCommit(FacetKey key) {
+        TransactionHooks.onCommit(() -> apply(key, -1));
+    }
+
+    /**
+     * Stop counting several books once the current transaction commits (bulk deletes)
+     */
+    public void removeAllAfterCommit(Collection<FacetKey> keys) {
+        TransactionHooks.onCommit(() -> keys.forEach(key -> apply(key, -1)));
+    }
+
+    /**
+     * Replace the counts (used when loading at startup)
+     *
+     * @param years book counts per publication year, folded into decades
+     */
+    public void rebuild(long total, List<GenreCount> genres, Map<Long, Long> libraries, Map<Integer, Long> years) {
+        lock.writeLock().lock();
+        try {
+            this.total = total;
+            this.genres.clear();
+            this.genreLabels.clear();
+            genres.forEach(genre -> {
+                String key = genreKey(genre.genre());
+                this.genres.merge(key, genre.count(), Long::sum);
+                this.genreLabels.putIfAbsent(key, genre.label());
+            });
+            this.libraries.clear();
+            this.libraries.putAll(libraries);
+            this.decades.clear();
+            this.decades.putAll(toDecades(years));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Snapshot snapshot() {
+        lock.readLock().lock();
+        try {
+            List<GenreCount> genreCounts = genres.entrySet().stream()
+                    .map(entry -> new GenreCount(entry.getKey(), genreLabels.get(entry.getKey()), entry.getValue()))
+                    .toList();
+            return new Snapshot(total, genreCounts, Map.copyOf(libraries), Map.copyOf(decades));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Facet value of a genre: upper-cased like the genre filter (null stays null)
+     */
+    private static String genreKey(String genre) {
+        return genre != null ? genre.toUpperCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * Fold per-year counts into per-decade counts
+     */
+    public static Map<Integer, Long> toDecades(Map<Integer, Long> years) {
+        Map<Integer, Long> decades = new HashMap<>();
+        years.forEach((year, count) -> decades.merge(decadeOf(year), count, Long::sum));
+        return decades;
+    }
+
+    /**
+     * First year of the decade containing the given year (1987 -> 1980)
+     */
+    public static int decadeOf(int year) {
+        return Math.floorDiv(year, 10) * 10;
+    }
+
+    private void apply(FacetKey key, long delta) {
+        lock.writeLock().lock();
+        try {
+            total += delta;
+            String genre = genreKey(key.genre());
+            adjust(genres, genre, delta);
+            if (genre != null) {
+                // First spelling seen stays the label until the genre disappears
+                if (genres.containsKey(genre)) {
+                    genreLabels.putIfAbsent(genre, key.genre());
+                } else {
+                    genreLabels.remove(genre);
+                }
+            }
+            adjust(libraries, key.libraryId(), delta);
+            adjust(decades, key.decade(), delta);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static <K> void adjust(Map<K, Long> counts, K key, long delta) {
+        if (key != null) {
+            // Values dropping to zero are removed so they disappear from the facet
+            counts.compute(key, (k, count) -> {
+                long updated = (count != null ? count : 0) + delta;
+                return updated > 0 ? updated : null;
+            });
+        }
+    }
+}
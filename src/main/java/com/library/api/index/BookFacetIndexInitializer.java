@@ -0,0 +1,37 @@
+package com.library.api.index;
+
+import com.library.api.dto.request.BookFilter;
+import com.library.api.model.Book;
+import com.library.api.repository.BookRepository;
+import com.library.api.repository.BookSpecifications;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Loads the facet counts from grouped queries before the web server starts
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookFacetIndexInitializer extends IndexInitializer {
+
+    private final BookRepository bookRepository;
+    private final BookFacetIndex bookFacetIndex;
+
+    @Override
+    protected void load() {
+        long start = System.currentTimeMillis();
+        
+        Specification<Book> allBooks = BookSpecifications.matching(new BookFilter());
+        Map<Long, Long> libraries = bookRepository.countByLibrary(allBooks);
+        long total = libraries.values().stream().mapToLong(Long::longValue).sum();
+        
+        bookFacetIndex.rebuild(total, bookRepository.countByGenre(allBooks), libraries,
+                bookRepository.countByPublicationYear(allBooks));
+        log.info("Built facet counts for {} books in {} ms", total, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,465 @@
+package com.library.api.index;
+
+import com.library.api.exception.BadRequestException;
+import com.library.api.repository.BookText;
+import com.library.api.util.LongLongHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram index over book titles and authors
+ * Replaces LIKE '%x%' scans with an inverted index and tolerates typos.
+ *
+ * Text is normalized (lower case, accents stripped, punctuation removed) and each
+ * word is split into padded trigrams ("lee" -> " le", "lee", "ee "). Every trigram
+ * maps to a sorted posting list of document ordinals (dense ints, so a posting costs
+ * 4 bytes regardless of the book ID range).
+ *
+ * A book matches when it shares at least min-similarity of the query trigrams.
+ * Matched trigrams are counted per candidate document, so a query costs time and memory
+ * in proportion to the postings it reads, not to the size of the index. Only the rarest
+ * posting lists can introduce candidates (a book missing from all of them cannot reach
+ * the threshold); the common lists only raise existing counts.
+ *
+ * Results are ranked by query coverage, then by similarity to the whole text,
+ * with a bonus for exact phrase matches.
+ *
+ * Writes are applied after the surrounding transaction commits.
+ */
+@Component
+@Slf4j
+public class BookSearchIndex {
+
+    private static final long ABSENT = -1L;
+    private static final double PHRASE_BONUS = 1.0;
+    private static final int MAX_QUERY_LENGTH = 256;
+
+    private static final Comparator<Hit> BY_RANK = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparingLong(Hit::bookId);
+
+    @Value("${library.search.min-similarity:0.5}")
+    private double minSimilarity;
+
+    @Value("${library.search.max-results:10000}")
+    private int maxResults;
+
+    private IndexData data = new IndexData();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * A page of ranked book IDs and the total number of matches
+     */
+    public record SearchResult(List<Long> bookIds, long total) {
+    }
+
+    private record Hit(long bookId, double score) {
+    }
+
+    private record Document(long bookId, String text, int trigramCount) {
+    }
+
+    /**
+     * Search titles and authors
+     *
+     * @param query free text, matched per word
+     * @param offset number of ranked results to skip
+     * @param limit maximum number of results to return
+     * @throws BadRequestException if the query is too long or contains no letters or digits,
+     *                             or the page ends beyond library.search.max-results
+     */
+    public SearchResult search(String query, long offset, int limit) {
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException("Search query must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        // Every hit up to the end of the page is ranked, so deep pages are refused rather than paid for
+        if (offset < 0 || limit < 1 || offset + limit > maxResults) {
+            throw new BadRequestException("Search results are limited to the first " + maxResults + " matches");
+        }
+        String text = normalize(query);
+        long[] trigrams = trigrams(text);
+        if (trigrams.length == 0) {
+            throw new BadRequestException("Search query must contain letters or digits");
+        }
+        int required = Math.max(1, (int) Math.ceil(trigrams.length * minSimilarity));
+
+        lock.readLock().lock();
+        try {
+            return data.search(text, trigrams, required, (int) offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Index (or re-index) a book once the current transaction commits
+     */
+    public void indexAfterCommit(long bookId, String title, String author) {
+        String text = documentText(title, author);
+        TransactionHooks.onCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                data.put(bookId, text);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Remove a book once the current transaction commits
+     */
+    public void removeAfterCommit(long bookId) {
+        TransactionHooks.onCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                data.remove(bookId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Remove several books once the current transaction commits (bulk deletes)
+     */
+    public void removeAllAfterCommit(Collection<Long> bookIds) {
+        TransactionHooks.onCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                bookIds.forEach(data::remove);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Replace the index contents (used when loading at startup)
+     * The new index is built without holding the lock, so searches keep working meanwhile
+     *
+     * @return number of indexed books
+     */
+    public int rebuild(Stream<BookText> books) {
+        IndexData loaded = new IndexData();
+        books.forEach(book -> loaded.put(book.getId(), documentText(book.getTitle(), book.getAuthor())));
+
+        lock.writeLock().lock();
+        try {
+            data = loaded;
+            return data.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return data.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate heap footprint of the postings and lookup tables in bytes (text excluded)
+     */
+    public long memoryUsage() {
+        lock.readLock().lock();
+        try {
+            return data.memoryUsage();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String documentText(String title, String author) {
+        return normalize(title) + " " + normalize(author);
+    }
+
+    /**
+     * Lower-case letters and digits separated by single spaces, accents removed
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && !normalized.isEmpty()) {
+                    normalized.append(' ');
+                }
+                normalized.append(Character.toLowerCase(c));
+                pendingSpace = false;
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Distinct padded word trigrams of normalized text, sorted
+     * Each trigram packs its three chars into one long (never 0, thanks to the padding)
+     */
+    static long[] trigrams(String text) {
+        // A word of n chars yields n padded trigrams, so there are at most text.length()
+        long[] trigrams = new long[text.length()];
+        int count = 0;
+        int wordStart = 0;
+        for (int i = 0; i <= text.length(); i++) {
+            if (i == text.length() || text.charAt(i) == ' ') {
+                for (int p = wordStart - 1; p < i - 1; p++) {
+                    trigrams[count++] = ((long) charAt(text, p, wordStart, i) << 32)
+                            | ((long) charAt(text, p + 1, wordStart, i) << 16)
+                            | charAt(text, p + 2, wordStart, i);
+                }
+                wordStart = i + 1;
+            }
+        }
+
+        Arrays.sort(trigrams, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || trigrams[distinct - 1] != trigrams[i]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    /**
+     * Char of a word padded with one space on each side
+     */
+    private static char charAt(String text, int position, int wordStart, int wordEnd) {
+        return position < wordStart || position >= wordEnd ? ' ' : text.charAt(position);
+    }
+
+    /**
+     * Index contents, guarded by the enclosing lock
+     */
+    private static final class IndexData {
+
+        /** trigram -> position in postings */
+        private final LongLongHashMap trigramSlots = new LongLongHashMap();
+        private final List<PostingList> postings = new ArrayList<>();
+
+        /** book ID -> document ordinal */
+        private final LongLongHashMap ordinals = new LongLongHashMap();
+        /** document ordinal -> document (null for freed ordinals) */
+        private final List<Document> documents = new ArrayList<>();
+        private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+
+        void put(long bookId, String text) {
+            long existing = ordinals.get(bookId, ABSENT);
+            if (existing != ABSENT) {
+                if (documents.get((int) existing).text().equals(text)) {
+                    return;
+                }
+                remove(bookId);
+            }
+
+            long[] trigrams = trigrams(text);
+            int ordinal;
+            if (freeOrdinals.isEmpty()) {
+                ordinal = documents.size();
+                documents.add(null);
+            } else {
+                ordinal = freeOrdinals.pop();
+            }
+            documents.set(ordinal, new Document(bookId, text, trigrams.length));
+            ordinals.put(bookId, ordinal);
+
+            for (long trigram : trigrams) {
+                long slot = trigramSlots.get(trigram, ABSENT);
+                if (slot == ABSENT) {
+                    slot = postings.size();
+                    postings.add(new PostingList());
+                    trigramSlots.put(trigram, slot);
+                }
+                postings.get((int) slot).add(ordinal);
+            }
+        }
+
+        void remove(long bookId) {
+            long existing = ordinals.get(bookId, ABSENT);
+            if (existing == ABSENT) {
+                return;
+            }
+            int ordinal = (int) existing;
+
+            for (long trigram : trigrams(documents.get(ordinal).text())) {
+                postings.get((int) trigramSlots.get(trigram, ABSENT)).remove(ordinal);
+            }
+            documents.set(ordinal, null);
+            freeOrdinals.push(ordinal);
+            ordinals.remove(bookId);
+        }
+
+        SearchResult search(String text, long[] trigrams, int required, int offset, int limit) {
+            List<PostingList> lists = new ArrayList<>(trigrams.length);
+            for (long trigram : trigrams) {
+                long slot = trigramSlots.get(trigram, ABSENT);
+                if (slot != ABSENT && postings.get((int) slot).size() > 0) {
+                    lists.add(postings.get((int) slot));
+                }
+            }
+            if (lists.size() < required) {
+                return new SearchResult(List.of(), 0);
+            }
+            lists.sort(Comparator.comparingInt(PostingList::size));
+
+            // A match shares at least `required` trigrams, so it must appear in one of the rarest
+            // lists: only those start a count, the common lists just raise existing counts.
+            // Counts are keyed by ordinal + 1 (key 0 is reserved) and sized for the seed postings.
+            int seedLists = lists.size() - required + 1;
+            int seedPostings = 0;
+            for (int i = 0; i < seedLists; i++) {
+                seedPostings += lists.get(i).size();
+            }
+            LongLongHashMap matched = new LongLongHashMap(seedPostings);
+            int[] candidates = new int[seedPostings];
+            int candidateCount = 0;
+            for (int i = 0; i < lists.size(); i++) {
+                PostingList list = lists.get(i);
+                boolean seed = i < seedLists;
+                for (int j = 0; j < list.size(); j++) {
+                    int ordinal = list.get(j);
+                    if (seed) {
+                        if (matched.addTo(ordinal + 1L, 1) == 1) {
+                            candidates[candidateCount++] = ordinal;
+                        }
+                    } else if (matched.containsKey(ordinal + 1L)) {
+                        matched.addTo(ordinal + 1L, 1);
+                    }
+                }
+            }
+
+            // Keep only the best offset + limit hits (the heap head is the worst kept hit)
+            int keep = offset + limit;
+            PriorityQueue<Hit> top = new PriorityQueue<>(BY_RANK.reversed());
+            long total = 0;
+            for (int c = 0; c < candidateCount; c++) {
+                int ordinal = candidates[c];
+                int count = (int) matched.get(ordinal + 1L, 0);
+                if (count < required) {
+                    continue;
+                }
+                total++;
+                Document document = documents.get(ordinal);
+                double baseScore = baseScore(document, trigrams.length, count);
+                if (top.size() >= keep && baseScore + PHRASE_BONUS < top.peek().score()) {
+                    continue; // Cannot enter the page even with the phrase bonus
+                }
+                double score = document.text().contains(text) ? baseScore + PHRASE_BONUS : baseScore;
+                Hit hit = new Hit(document.bookId(), score);
+                if (top.size() < keep) {
+                    top.offer(hit);
+                } else if (BY_RANK.compare(hit, top.peek()) < 0) {
+                    top.poll();
+                    top.offer(hit);
+                }
+            }
+
+            List<Hit> ranked = new ArrayList<>(top);
+            ranked.sort(BY_RANK);
+            List<Long> bookIds = ranked.stream()
+                    .skip(offset)
+                    .map(Hit::bookId)
+                    .toList();
+            return new SearchResult(bookIds, total);
+        }
+
+        int size() {
+            return ordinals.size();
+        }
+
+        long memoryUsage() {
+            long postingBytes = postings.stream().mapToLong(PostingList::memoryUsage).sum();
+            return postingBytes + trigramSlots.memoryUsage() + ordinals.memoryUsage()
+                    + documents.size() * 8L;
+        }
+    }
+
+    /**
+     * Share of the query found in the document, plus similarity to the whole document
+     * (so shorter, closer texts rank first)
+     */
+    private static double baseScore(Document document, int queryTrigrams, int matched) {
+        double coverage = (double) matched / queryTrigrams;
+        double similarity = (double) matched / (queryTrigrams + document.trigramCount() - matched);
+        return coverage + similarity;
+    }
+
+    /**
+     * Sorted, growable array of document ordinals
+     */
+    private static final class PostingList {
+
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            // Ordinals are mostly handed out in increasing order, so appending is the common case
+            if (size == 0 || ordinals[size - 1] < ordinal) {
+                ensureCapacity();
+                ordinals[size++] = ordinal;
+                return;
+            }
+            int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            ensureCapacity();
+            System.arraycopy(ordinals, insertAt, ordinals, insertAt + 1, size - insertAt);
+            ordinals[insertAt] = ordinal;
+            size++;
+        }
+
+        void remove(int ordinal) {
+            int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(ordinals, index + 1, ordinals, index, size - index - 1);
+            size--;
+        }
+
+        int get(int index) {
+            return ordinals[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        long memoryUsage() {
+            return 16L + ordinals.length * 4L;
+        }
+
+        private void ensureCapacity() {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.library.api.index;
+
+import com.library.api.repository.BookRepository;
+import com.library.api.repository.BookText;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+/**
+ * Loads the title/author search index from the database before the web server starts
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookSearchIndexInitializer extends IndexInitializer {
+
+    private final BookRepository bookRepository;
+    private final BookSearchIndex bookSearchIndex;
+
+    @Override
+    protected void load() {
+        long start = System.currentTimeMillis();
+        
+        try (Stream<BookText> books = bookRepository.streamAllTexts()) {
+            int size = bookSearchIndex.rebuild(books);
+            log.info("Built search index with {} books ({} KB) in {} ms",
+                    size, bookSearchIndex.memoryUsage() / 1024, System.currentTimeMillis() - start);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.library.api.index;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Base class for loading an in-memory index from the database at startup
+ * Runs in a lifecycle phase ahead of the web server, so the index is complete before the
+ * first request and no write can race the rebuild. The seed profile's catalog generator has
+ * already run by then: it finishes when the singletons are created.
+ */
+public abstract class IndexInitializer implements SmartLifecycle {
+
+    /**
+     * Earlier than the web server, which starts in phase DEFAULT_PHASE - 2048
+     */
+    private static final int PHASE = 0;
+
+    private volatile boolean running;
+
+    /**
+     * Build the index from the current tables
+     */
+    protected abstract void load();
+
+    @Override
+    @Transactional(readOnly = true)
+    public void start() {
+        load();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
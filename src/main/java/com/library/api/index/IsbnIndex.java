@@ -0,0 +1,219 @@
+package com.library.api.index;
+
+import com.library.api.exception.BadRequestException;
+import com.library.api.exception.ResourceNotFoundException;
+import com.library.api.repository.BookIsbn;
+import com.library.api.util.LongLongHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory ISBN -> book ID index
+ * Answers ISBN lookups and uniqueness checks without a database round trip.
+ * 
+ * ISBNs are 10-13 digits, so each one is packed into a long key
+ * (numeric value shifted left by 4 bits, plus the digit count so that
+ * leading zeros stay significant) and stored in a primitive hash map.
+ * 
+ * Writes are transaction aware: reservations made inside a transaction are
+ * released on rollback, and removals are applied only after commit.
+ */
+@Component
+@Slf4j
+public class IsbnIndex {
+
+    /**
+     * Value held by a reserved ISBN until the new book's ID is known
+     */
+    private static final long PENDING = -1L;
+    private static final long ABSENT = 0L;
+
+    private final LongLongHashMap entries = new LongLongHashMap();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Find the ID of the book with the given ISBN
+     */
+    public OptionalLong findBookId(String isbn) {
+        long key = toKey(isbn);
+        if (key == ABSENT) {
+            return OptionalLong.empty();
+        }
+        
+        lock.readLock().lock();
+        try {
+            long bookId = entries.get(key, ABSENT);
+            return bookId > 0 ? OptionalLong.of(bookId) : OptionalLong.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the ID of the book with the given ISBN or throw ResourceNotFoundException
+     */
+    public long requireBookId(String isbn) {
+        return findBookId(isbn)
+                .orElseThrow(() -> new ResourceNotFoundException("Book", "ISBN", isbn));
+    }
+
+    /**
+     * Atomically claim an ISBN for a book
+     * Replaces the check-then-insert race: only one caller can claim a free ISBN.
+     * Inside a transaction the claim is released again if the transaction rolls back.
+     * 
+     * @param isbn ISBN to claim
+     * @param bookId ID of the book being updated, or null for a book not yet inserted
+     * @throws BadRequestException if the ISBN belongs to another book
+     */
+    public void reserve(String isbn, Long bookId) {
+        long key = requireKey(isbn);
+        long value = bookId != null ? bookId : PENDING;
+        
+        lock.writeLock().lock();
+        try {
+            long current = entries.get(key, ABSENT);
+            if (current == value && bookId != null) {
+                return; // Already owned by this book
+            }
+            if (current != ABSENT) {
+                throw new BadRequestException("Book with ISBN " + isbn + " already exists");
+            }
+            entries.put(key, value);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        TransactionHooks.onRollback(() -> release(key));
+    }
+
+    /**
+     * Bind a reserved ISBN to the ID of the newly inserted book
+     */
+    public void assign(String isbn, long bookId) {
+        long key = requireKey(isbn);
+        
+        lock.writeLock().lock();
+        try {
+            entries.put(key, bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove an ISBN once the current transaction commits
+     * The entry is only removed while it still maps to the given book
+     */
+    public void removeAfterCommit(String isbn, long bookId) {
+        long key = requireKey(isbn);
+        TransactionHooks.onCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                entries.remove(key, bookId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Remove the ISBNs of several books once the current transaction commits (bulk deletes)
+     */
+    public void removeAllAfterCommit(List<? extends BookIsbn> books) {
+        long[] keys = new long[books.size()];
+        long[] bookIds = new long[books.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = requireKey(books.get(i).getIsbn());
+            bookIds[i] = books.get(i).getId();
+        }
+        TransactionHooks.onCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                for (int i = 0; i < keys.length; i++) {
+                    entries.remove(keys[i], bookIds[i]);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Replace the index contents (used when loading at startup)
+     * 
+     * @return number of indexed books
+     */
+    public int rebuild(Stream<BookIsbn> books) {
+        LongLongHashMap loaded = new LongLongHashMap();
+        books.forEach(book -> loaded.put(requireKey(book.getIsbn()), book.getId()));
+        
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            loaded.forEach(entries::put);
+            return entries.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long memoryUsage() {
+        lock.readLock().lock();
+        try {
+            return entries.memoryUsage();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void release(long key) {
+        lock.writeLock().lock();
+        try {
+            entries.remove(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Pack an ISBN into a long key, or return 0 if it is not 10-13 digits
+     */
+    static long toKey(String isbn) {
+        if (isbn == null || isbn.length() < 10 || isbn.length() > 13) {
+            return ABSENT;
+        }
+        long number = 0;
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (c < '0' || c > '9') {
+                return ABSENT;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return (number << 4) | isbn.length();
+    }
+
+    private static long requireKey(String isbn) {
+        long key = toKey(isbn);
+        if (key == ABSENT) {
+            throw new BadRequestException("Invalid ISBN: " + isbn);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,32 @@
+package com.library.api.index;
+
+import com.library.api.repository.BookIsbn;
+import com.library.api.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+/**
+ * Loads the ISBN index from the database before the web server starts
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IsbnIndexInitializer extends IndexInitializer {
+
+    private final BookRepository bookRepository;
+    private final IsbnIndex isbnIndex;
+
+    @Override
+    protected void load() {
+        long start = System.currentTimeMillis();
+        
+        try (Stream<BookIsbn> books = bookRepository.streamAllIsbns()) {
+            int size = isbnIndex.rebuild(books);
+            log.info("Built ISBN index with {} entries ({} KB) in {} ms",
+                    size, isbnIndex.memoryUsage() / 1024, System.currentTimeMillis() - start);
+        }
+    }
+}
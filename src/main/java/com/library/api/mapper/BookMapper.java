@@ -46,6 +46,21 @@ public class BookMapper {
         // Library is updated by the service layer
     }
 
+    /**
+     * Convert Book entity to an UpdateBookRequest holding its current state (base of a merge patch)
+     */
+    public UpdateBookRequest toUpdateRequest(Book book) {
+        return new UpdateBookRequest(
+                book.getIsbn(),
+                book.getTitle(),
+                book.getAuthor(),
+                book.getGenre(),
+                book.getPublicationDate(),
+                book.getAcquisitionDate(),
+                book.getPages(),
+                book.getLibrary().getId());
+    }
+
     /**
      * Convert Book entity to BookResponse DTO
      * Only exposes safe, public fields
@@ -62,6 +77,7 @@ public class BookMapper {
                 .pages(book.getPages())
                 .libraryId(book.getLibrary() != null ? book.getLibrary().getId() : null)
                 .libraryName(book.getLibrary() != null ? book.getLibrary().getName() : null)
+                .lastModified(book.getUpdatedAt())
                 .build();
     }
 }
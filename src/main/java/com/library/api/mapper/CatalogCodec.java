@@ -0,0 +1,65 @@
+package com.library.api.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.library.api.config.JacksonConfig;
+import com.library.api.service.CatalogFormat;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates streaming Jackson readers and writers for line-oriented catalog formats
+ * Shared by bulk import and export so both use the same column names and date format
+ * 
+ * The CsvMapper is deliberately not a bean: as an ObjectMapper subclass it would
+ * replace Spring Boot's auto-configured JSON ObjectMapper
+ */
+@Component
+public class CatalogCodec {
+
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+
+    public CatalogCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.csvMapper = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .disable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                .filterProvider(JacksonConfig.serializeAllFilters())
+                .build();
+    }
+
+    /**
+     * Reader for a sequence of rows (NDJSON lines or CSV records with a header row)
+     */
+    public ObjectReader reader(CatalogFormat format, Class<?> type) {
+        if (format == CatalogFormat.CSV) {
+            // Columns are taken from the header row, so any order and subset is accepted
+            return csvMapper.readerFor(type).with(CsvSchema.emptySchema().withHeader());
+        }
+        return objectMapper.readerFor(type);
+    }
+
+    /**
+     * Writer for a sequence of rows (NDJSON lines or CSV records with a header row)
+     */
+    public ObjectWriter writer(CatalogFormat format, Class<?> type) {
+        if (format == CatalogFormat.CSV) {
+            return csvMapper.writerFor(type)
+                    .with(csvMapper.schemaFor(type).withHeader());
+        }
+        // The caller terminates the last line, so the target must stay open after the writer closes
+        return objectMapper.writerFor(type)
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+}
@@ -4,6 +4,7 @@ import com.library.api.dto.request.CreateLibraryRequest;
 import com.library.api.dto.request.UpdateLibraryRequest;
 import com.library.api.dto.response.LibraryResponse;
 import com.library.api.model.Library;
+import com.library.api.repository.ResourceVersion;
 import org.springframework.stereotype.Component;
 
 /**
@@ -37,10 +38,24 @@ public class LibraryMapper {
         library.setEstablishedDate(request.getEstablishedDate());
     }
 
+    /**
+     * Convert Library entity to an UpdateLibraryRequest holding its current state (base of a merge patch)
+     */
+    public UpdateLibraryRequest toUpdateRequest(Library library) {
+        return new UpdateLibraryRequest(
+                library.getName(),
+                library.getAddress(),
+                library.getPhone(),
+                library.getEmail(),
+                library.getEstablishedDate());
+    }
+
     /**
      * Convert Library entity to LibraryResponse DTO
+     * The book count is supplied by the caller (from a count query) so the
+     * lazy books collection is never initialized just to be counted
      */
-    public LibraryResponse toResponse(Library library) {
+    public LibraryResponse toResponse(Library library, long totalBooks) {
         return LibraryResponse.builder()
                 .id(library.getId())
                 .name(library.getName())
@@ -48,7 +63,18 @@ public class LibraryMapper {
                 .phone(library.getPhone())
                 .email(library.getEmail())
                 .establishedDate(library.getEstablishedDate())
-                .totalBooks(library.getBooks() != null ? library.getBooks().size() : 0)
+                .totalBooks(Math.toIntExact(totalBooks))
                 .build();
     }
+
+    /**
+     * Convert Library entity to a single-library response
+     * The version (LibraryRepository.findVersionById) supplies the book count and the
+     * last modification, so the cached response carries its own validators
+     */
+    public LibraryResponse toResponse(Library library, ResourceVersion version) {
+        LibraryResponse response = toResponse(library, version.count());
+        response.setLastModified(version.lastModified());
+        return response;
+    }
 }
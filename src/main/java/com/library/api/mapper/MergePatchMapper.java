@@ -0,0 +1,59 @@
+package com.library.api.mapper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.api.exception.BadRequestException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Applies JSON Merge Patch documents (RFC 7396, application/merge-patch+json) to request DTOs
+ * The service fills the DTO from the current entity; a member present in the patch replaces the
+ * value (null clears it), an absent member keeps it. Only the patched properties are validated,
+ * so a single-field edit is not rejected for unrelated fields.
+ */
+@Component
+@RequiredArgsConstructor
+public class MergePatchMapper {
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    /**
+     * Merge the patch into the DTO holding the current state
+     * 
+     * @return the patched DTO (the given instance, updated in place)
+     * @throws ConstraintViolationException when a patched property is invalid
+     */
+    public <T> T apply(T current, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new BadRequestException("Merge patch must be a JSON object");
+        }
+        
+        T merged;
+        try {
+            merged = objectMapper.readerForUpdating(current)
+                    .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(patch);
+        } catch (IOException ex) {
+            String reason = ex instanceof JsonProcessingException json ? json.getOriginalMessage() : ex.getMessage();
+            throw new BadRequestException("Invalid merge patch: " + reason);
+        }
+        
+        Set<ConstraintViolation<T>> violations = new HashSet<>();
+        patch.fieldNames().forEachRemaining(field -> violations.addAll(validator.validateProperty(merged, field)));
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return merged;
+    }
+}
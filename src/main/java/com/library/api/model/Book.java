@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
@@ -15,6 +16,7 @@ import java.time.LocalDateTime;
  * Represents a book that belongs to a library
  */
 @Entity
+@DynamicUpdate // UPDATE only the modified columns (PATCH usually changes one or two)
 @Table(name = "book")
 @Data
 @NoArgsConstructor
@@ -0,0 +1,38 @@
+package com.library.api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * BookTombstone Entity - marker left behind by a deleted book
+ * Lets delta sync (GET /api/books/changes) report deletes; rows are written with set-based
+ * inserts by the delete paths and purged after library.sync.tombstone-retention
+ */
+@Entity
+@Table(name = "book_tombstone")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookTombstone {
+
+    @Id
+    @Column(name = "book_id")
+    private Long bookId;
+
+    @Column(name = "library_id", nullable = false)
+    private Long libraryId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -2,9 +2,12 @@ package com.library.api.model;
 
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
@@ -17,8 +20,11 @@ import java.util.List;
  * Represents a library that can contain multiple books
  */
 @Entity
+@DynamicUpdate // Renames and contact edits write just those columns
 @Table(name = "library")
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 public class Library {
@@ -58,8 +64,30 @@ public class Library {
      * - fetch: LAZY loading for better performance
      */
     @OneToMany(mappedBy = "library", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @ToString.Exclude
     private List<Book> books = new ArrayList<>();
 
+    /**
+     * Identity is the database ID (not @Data's field-by-field comparison, which
+     * walked the lazy books collection); transient instances are only equal to themselves.
+     * The hash code is constant so it does not change when the ID is assigned on persist
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Library other)) {
+            return false;
+        }
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Library.class.hashCode();
+    }
+
     /**
      * Helper method to add a book to this library
      * Maintains bidirectional relationship consistency
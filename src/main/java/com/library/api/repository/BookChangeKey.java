@@ -0,0 +1,14 @@
+package com.library.api.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection for the sync position of a book (updated_at, id)
+ * Read from the (updated_at, id) index alone; the responses are loaded by ID afterwards
+ */
+public interface BookChangeKey {
+
+    Long getId();
+
+    LocalDateTime getChangedAt();
+}
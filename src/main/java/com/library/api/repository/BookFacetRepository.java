@@ -0,0 +1,30 @@
+package com.library.api.repository;
+
+import com.library.api.model.Book;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grouped book counts for faceted navigation
+ * Each facet is one GROUP BY query over the books matching the specification;
+ * books with no value for the facet are not counted
+ */
+public interface BookFacetRepository {
+
+    /**
+     * Count matching books per upper-cased genre, with one spelling of each as its label
+     */
+    List<GenreCount> countByGenre(Specification<Book> specification);
+
+    /**
+     * Count matching books per library ID
+     */
+    Map<Long, Long> countByLibrary(Specification<Book> specification);
+
+    /**
+     * Count matching books per publication year
+     */
+    Map<Integer, Long> countByPublicationYear(Specification<Book> specification);
+}
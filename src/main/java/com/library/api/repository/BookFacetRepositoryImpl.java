@@ -0,0 +1,88 @@
+package com.library.api.repository;
+
+import com.library.api.model.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Criteria implementation of BookFacetRepository (picked up as a BookRepository fragment)
+ */
+public class BookFacetRepositoryImpl implements BookFacetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * SELECT UPPER(genre), MIN(genre), COUNT(*) ... WHERE <specification> AND genre IS NOT NULL GROUP BY UPPER(genre)
+     */
+    @Override
+    public List<GenreCount> countByGenre(Specification<Book> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Book> book = query.from(Book.class);
+        Expression<String> genre = book.get("genre");
+        Expression<String> key = cb.upper(genre);
+        
+        query.multiselect(key, cb.least(genre), cb.count(book))
+                .where(matching(specification, book, query, cb, key))
+                .groupBy(key);
+        
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(row -> new GenreCount(row.get(0, String.class), row.get(1, String.class), row.get(2, Long.class)))
+                .toList();
+    }
+
+    @Override
+    public Map<Long, Long> countByLibrary(Specification<Book> specification) {
+        return countGrouped(specification, (book, cb) -> book.get("library").get("id"));
+    }
+
+    @Override
+    public Map<Integer, Long> countByPublicationYear(Specification<Book> specification) {
+        return countGrouped(specification,
+                (book, cb) -> ((HibernateCriteriaBuilder) cb).year(book.get("publicationDate")));
+    }
+
+    /**
+     * SELECT key, COUNT(*) ... WHERE <specification> AND key IS NOT NULL GROUP BY key
+     */
+    private <K> Map<K, Long> countGrouped(
+            Specification<Book> specification, BiFunction<Root<Book>, CriteriaBuilder, Expression<K>> keyExpression) {
+        
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Book> book = query.from(Book.class);
+        Expression<K> key = keyExpression.apply(book, cb);
+        
+        query.multiselect(key, cb.count(book)).where(matching(specification, book, query, cb, key)).groupBy(key);
+        
+        Map<K, Long> counts = new LinkedHashMap<>();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            counts.put(row.get(0, key.getJavaType()), row.get(1, Long.class));
+        }
+        return counts;
+    }
+
+    /**
+     * The specification's predicate, restricted to rows with a non-null key
+     */
+    private static Predicate matching(Specification<Book> specification, Root<Book> book, CriteriaQuery<?> query,
+                                      CriteriaBuilder cb, Expression<?> key) {
+        Predicate predicate = cb.isNotNull(key);
+        Predicate filter = specification.toPredicate(book, query, cb);
+        return filter != null ? cb.and(filter, predicate) : predicate;
+    }
+}
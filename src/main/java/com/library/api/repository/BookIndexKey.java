@@ -0,0 +1,14 @@
+package com.library.api.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projection for the book columns the in-memory indexes are keyed on
+ * Used to unindex books deleted in bulk without loading full entities
+ */
+public interface BookIndexKey extends BookIsbn {
+
+    String getGenre();
+
+    LocalDate getPublicationDate();
+}
@@ -0,0 +1,12 @@
+package com.library.api.repository;
+
+/**
+ * Projection for book ID/ISBN pairs
+ * Used to build the in-memory ISBN index without loading full entities
+ */
+public interface BookIsbn {
+
+    Long getId();
+
+    String getIsbn();
+}
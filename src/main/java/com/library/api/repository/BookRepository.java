@@ -1,71 +1,133 @@
 package com.library.api.repository;
 
+import com.library.api.dto.response.BookResponse;
 import com.library.api.model.Book;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Book entity
- * Includes custom query methods for date filtering and library relationships
+ * Combined filters go through JpaSpecificationExecutor (see BookSpecifications)
+ * Read paths return BookResponse projections (RESPONSE_SELECT and BookResponseRepository)
  */
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book>,
+        BookResponseRepository, BookFacetRepository {
 
     /**
-     * Find all books belonging to a specific library (paginated)
+     * Constructor expression selecting exactly the BookResponse columns (library joined for its name)
      */
-    Page<Book> findByLibraryId(Long libraryId, Pageable pageable);
+    String RESPONSE_SELECT = "SELECT new com.library.api.dto.response.BookResponse(" +
+            "b.id, b.isbn, b.title, b.author, b.genre, b.publicationDate, b.acquisitionDate, b.pages, " +
+            "l.id, l.name, b.updatedAt) FROM Book b JOIN b.library l";
 
     /**
-     * Find book by ISBN
+     * Stream all ID/ISBN pairs (used to build the ISBN index)
+     * Must be called inside a transaction and closed after use
      */
-    Optional<Book> findByIsbn(String isbn);
+    @Query("SELECT b.id AS id, b.isbn AS isbn FROM Book b")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<BookIsbn> streamAllIsbns();
 
     /**
-     * Check if book exists by ISBN
+     * Stream ID/title/author of all books (used to build the search index)
+     * Must be called inside a transaction and closed after use
      */
-    boolean existsByIsbn(String isbn);
+    @Query("SELECT b.id AS id, b.title AS title, b.author AS author FROM Book b")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<BookText> streamAllTexts();
 
     /**
-     * Find books published within a date range (paginated)
-     * Demonstrates date handling requirement
+     * Index keys of a library's books in ID order (first page = the next chunk to delete)
      */
-    @Query("SELECT b FROM Book b WHERE b.publicationDate BETWEEN :startDate AND :endDate")
-    Page<Book> findByPublicationDateBetween(
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
-            Pageable pageable
-    );
+    @Query("SELECT b.id AS id, b.isbn AS isbn, b.genre AS genre, b.publicationDate AS publicationDate " +
+           "FROM Book b WHERE b.library.id = :libraryId ORDER BY b.id")
+    List<BookIndexKey> findIndexKeysByLibraryId(@Param("libraryId") Long libraryId, Pageable pageable);
 
     /**
-     * Find books acquired within a date range (paginated)
+     * Delete books by ID with one statement (no entities loaded, no per-row cascade)
      */
-    @Query("SELECT b FROM Book b WHERE b.acquisitionDate BETWEEN :startDate AND :endDate")
-    Page<Book> findByAcquisitionDateBetween(
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
-            Pageable pageable
-    );
+    @Modifying
+    @Query("DELETE FROM Book b WHERE b.id IN :ids")
+    int deleteAllByIdInBulk(@Param("ids") Collection<Long> ids);
 
     /**
-     * Find books by author (paginated)
+     * Mark all books of a library as changed (their responses embed the library name)
      */
-    Page<Book> findByAuthorContainingIgnoreCase(String author, Pageable pageable);
+    @Modifying
+    @Query("UPDATE Book b SET b.updatedAt = :updatedAt WHERE b.library.id = :libraryId")
+    int touchByLibraryId(@Param("libraryId") Long libraryId, @Param("updatedAt") LocalDateTime updatedAt);
 
     /**
-     * Find books by genre (paginated)
+     * Sync positions of books changed after the keyset position (from, afterId) and before until,
+     * in (updated_at, id) order - served from the (updated_at, id) index
      */
-    Page<Book> findByGenreIgnoreCase(String genre, Pageable pageable);
+    @Query("SELECT b.id AS id, b.updatedAt AS changedAt FROM Book b " +
+           "WHERE b.updatedAt >= :from AND b.updatedAt < :until " +
+           "AND (b.updatedAt > :from OR b.id > :afterId) ORDER BY b.updatedAt, b.id")
+    List<BookChangeKey> findChangeKeys(
+            @Param("from") LocalDateTime from,
+            @Param("afterId") Long afterId,
+            @Param("until") LocalDateTime until,
+            Pageable pageable);
+
+    /**
+     * Find a book as a response projection (one statement, no entity hydration)
+     */
+    @Query(RESPONSE_SELECT + " WHERE b.id = :id")
+    Optional<BookResponse> findResponseById(@Param("id") Long id);
+
+    /**
+     * Version of a single book for conditional GETs
+     * A library rename touches its books, so updated_at also covers the embedded library name
+     */
+    @Query("SELECT new com.library.api.repository.ResourceVersion(b.updatedAt, 1L) FROM Book b WHERE b.id = :id")
+    Optional<ResourceVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * Find several books as response projections (unordered)
+     */
+    @Query(RESPONSE_SELECT + " WHERE b.id IN :ids")
+    List<BookResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Stream all books as response projections in ID order (used for catalog export)
+     */
+    @Query(RESPONSE_SELECT + " ORDER BY b.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<BookResponse> streamAllResponses();
+
+    /**
+     * Stream all books of a library as response projections in ID order (used for catalog export)
+     */
+    @Query(RESPONSE_SELECT + " WHERE l.id = :libraryId ORDER BY b.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<BookResponse> streamResponsesByLibraryId(@Param("libraryId") Long libraryId);
 
     /**
      * Count books in a library
      */
     long countByLibraryId(Long libraryId);
+
+    /**
+     * Count books for several libraries in one grouped query
+     * Libraries without books are not present in the result
+     */
+    @Query("SELECT b.library.id AS libraryId, COUNT(b.id) AS bookCount FROM Book b " +
+           "WHERE b.library.id IN :libraryIds GROUP BY b.library.id")
+    List<LibraryBookCount> countByLibraryIds(@Param("libraryIds") Collection<Long> libraryIds);
 }
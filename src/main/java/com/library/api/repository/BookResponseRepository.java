@@ -0,0 +1,38 @@
+package com.library.api.repository;
+
+import com.library.api.dto.response.BookResponse;
+import com.library.api.model.Book;
+import com.library.api.util.FieldSelection;
+import com.library.api.util.KeysetCursor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Read-only queries returning BookResponse projections for Specification-based filters
+ * Rows are built by a constructor expression over book JOIN library, so no Book
+ * entities are hydrated or tracked by the persistence context
+ * With a sparse field selection only the selected columns are read (the others stay null)
+ * and the library is only joined for libraryName
+ */
+public interface BookResponseRepository {
+
+    /**
+     * Find books matching a specification (paginated)
+     * When withTotal is false the count query is skipped and a Slice is returned
+     */
+    Slice<BookResponse> findResponses(Specification<Book> specification, Pageable pageable, boolean withTotal,
+                                      FieldSelection fields);
+
+    /**
+     * Find books matching a specification after the cursor's keyset position
+     */
+    Window<BookResponse> scrollResponses(Specification<Book> specification, KeysetCursor cursor, int limit,
+                                         FieldSelection fields);
+
+    /**
+     * Version of all books matching a specification (max updated_at of books and their libraries, row count)
+     */
+    ResourceVersion findVersion(Specification<Book> specification);
+}
@@ -0,0 +1,195 @@
+package com.library.api.repository;
+
+import com.library.api.dto.response.BookResponse;
+import com.library.api.model.Book;
+import com.library.api.model.Library;
+import com.library.api.util.FieldSelection;
+import com.library.api.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Criteria implementation of BookResponseRepository (picked up as a BookRepository fragment)
+ */
+public class BookResponseRepositoryImpl implements BookResponseRepository {
+
+    private static final String ID_FIELD = "id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<BookResponse> findResponses(Specification<Book> specification, Pageable pageable, boolean withTotal,
+                                             FieldSelection fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookResponse> query = cb.createQuery(BookResponse.class);
+        Root<Book> book = selectResponse(query, cb, fields, ID_FIELD);
+        
+        Predicate predicate = specification.toPredicate(book, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), book, cb));
+        
+        TypedQuery<BookResponse> typedQuery = entityManager.createQuery(query);
+        if (pageable.isUnpaged()) {
+            List<BookResponse> content = typedQuery.getResultList();
+            return PageableExecutionUtils.getPage(content, pageable, content::size);
+        }
+        
+        // A slice reads one extra row to find out whether there is a next page
+        typedQuery.setFirstResult((int) pageable.getOffset());
+        typedQuery.setMaxResults(withTotal ? pageable.getPageSize() : pageable.getPageSize() + 1);
+        List<BookResponse> content = typedQuery.getResultList();
+        
+        if (withTotal) {
+            // The count query is skipped when the page itself reveals the total
+            return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+        }
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    @Override
+    public Window<BookResponse> scrollResponses(Specification<Book> specification, KeysetCursor cursor, int limit,
+                                                FieldSelection fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookResponse> query = cb.createQuery(BookResponse.class);
+        // The window positions are read from the sort field and id of each row
+        Root<Book> book = selectResponse(query, cb, fields, cursor.getSortField());
+        
+        Predicate predicate = specification.toPredicate(book, query, cb);
+        Map<String, ?> keys = ((KeysetScrollPosition) cursor.getPosition()).getKeys();
+        if (!keys.isEmpty()) {
+            Predicate seek = after(cb, book, cursor, keys);
+            predicate = predicate != null ? cb.and(predicate, seek) : seek;
+        }
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(cursor.getSort(), book, cb));
+        
+        List<BookResponse> rows = entityManager.createQuery(query)
+                .setMaxResults(limit + 1)
+                .getResultList();
+        
+        boolean hasNext = rows.size() > limit;
+        List<BookResponse> content = hasNext ? rows.subList(0, limit) : rows;
+        return Window.from(content, index -> positionOf(content.get(index), cursor.getSortField()), hasNext);
+    }
+
+    @Override
+    public ResourceVersion findVersion(Specification<Book> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ResourceVersion> query = cb.createQuery(ResourceVersion.class);
+        Root<Book> book = query.from(Book.class);
+        Join<Book, Library> library = book.join("library");
+        query.select(cb.construct(ResourceVersion.class,
+                cb.greatest(book.<LocalDateTime>get("updatedAt")),
+                cb.greatest(library.<LocalDateTime>get("updatedAt")),
+                cb.count(book)));
+        
+        Predicate predicate = specification.toPredicate(book, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * Select BookResponse columns (in all-args constructor order) from book JOIN library
+     * Fields outside the selection are selected as NULL; libraryId comes from the book's foreign
+     * key, so the library is only joined when libraryName is selected
+     * 
+     * @param required Field always read (e.g. the keyset sort field), in addition to the id
+     */
+    private Root<Book> selectResponse(CriteriaQuery<BookResponse> query, CriteriaBuilder cb,
+                                      FieldSelection fields, String required) {
+        Root<Book> book = query.from(Book.class);
+        Expression<String> libraryName = fields.includes("libraryName")
+                ? book.<Book, Library>join("library").get("name")
+                : cb.nullLiteral(String.class);
+        query.select(cb.construct(BookResponse.class,
+                book.get(ID_FIELD),
+                column(cb, book, fields, required, "isbn", String.class),
+                column(cb, book, fields, required, "title", String.class),
+                column(cb, book, fields, required, "author", String.class),
+                column(cb, book, fields, required, "genre", String.class),
+                column(cb, book, fields, required, "publicationDate", LocalDate.class),
+                column(cb, book, fields, required, "acquisitionDate", LocalDate.class),
+                column(cb, book, fields, required, "pages", Integer.class),
+                fields.includes("libraryId") ? book.get("library").get(ID_FIELD) : cb.nullLiteral(Long.class),
+                libraryName,
+                cb.nullLiteral(LocalDateTime.class)));
+        return book;
+    }
+
+    private static <T> Expression<T> column(CriteriaBuilder cb, Root<Book> book, FieldSelection fields,
+                                            String required, String field, Class<T> type) {
+        return fields.includes(field) || field.equals(required) ? book.get(field) : cb.nullLiteral(type);
+    }
+
+    private long count(Specification<Book> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Book> book = query.from(Book.class);
+        query.select(cb.count(book));
+        
+        Predicate predicate = specification.toPredicate(book, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * Seek predicate (sortKey, id) after (:key, :id) in the cursor's direction
+     */
+    private static Predicate after(CriteriaBuilder cb, Root<Book> book, KeysetCursor cursor, Map<String, ?> keys) {
+        boolean ascending = cursor.getDirection().isAscending();
+        Expression<Long> id = book.get(ID_FIELD);
+        Long lastId = (Long) keys.get(ID_FIELD);
+        Predicate afterId = ascending ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+        
+        if (ID_FIELD.equals(cursor.getSortField())) {
+            return afterId;
+        }
+        // All non-id sortable fields are strings
+        Expression<String> field = book.get(cursor.getSortField());
+        String lastKey = (String) keys.get(cursor.getSortField());
+        Predicate afterKey = ascending ? cb.greaterThan(field, lastKey) : cb.lessThan(field, lastKey);
+        return cb.or(afterKey, cb.and(cb.equal(field, lastKey), afterId));
+    }
+
+    private static ScrollPosition positionOf(BookResponse response, String sortField) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        if (!ID_FIELD.equals(sortField)) {
+            keys.put(sortField, new BeanWrapperImpl(response).getPropertyValue(sortField));
+        }
+        keys.put(ID_FIELD, response.getId());
+        return ScrollPosition.forward(keys);
+    }
+}
@@ -0,0 +1,77 @@
+package com.library.api.repository;
+
+import com.library.api.dto.request.BookFilter;
+import com.library.api.model.Book;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * JPA Specifications for Book queries
+ * Combines every supplied filter into one WHERE clause
+ */
+public class BookSpecifications {
+
+    private BookSpecifications() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Books matching all non-null criteria of the filter
+     * 
+     * Predicates are emitted from most to least selective so the indexed columns
+     * lead the WHERE clause: library (equality on idx_book_library_id), date ranges
+     * (idx_book_publication_date, idx_book_acquisition_date), then the unindexed
+     * pages range, case-insensitive genre and the author substring match
+     */
+    public static Specification<Book> matching(BookFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            
+            if (filter.getLibraryId() != null) {
+                predicates.add(cb.equal(root.get("library").get("id"), filter.getLibraryId()));
+            }
+            addRange(predicates, cb, root.get("publicationDate"), filter.getPublishedFrom(), filter.getPublishedTo());
+            addRange(predicates, cb, root.get("acquisitionDate"), filter.getAcquiredFrom(), filter.getAcquiredTo());
+            addRange(predicates, cb, root.get("pages"), filter.getMinPages(), filter.getMaxPages());
+            
+            if (hasText(filter.getGenre())) {
+                predicates.add(cb.equal(cb.upper(root.get("genre")), filter.getGenre().trim().toUpperCase(Locale.ROOT)));
+            }
+            if (hasText(filter.getAuthor())) {
+                String pattern = "%" + escapeLike(filter.getAuthor().trim().toUpperCase(Locale.ROOT)) + "%";
+                predicates.add(cb.like(cb.upper(root.get("author")), pattern, '\\'));
+            }
+            
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Add an inclusive range predicate; either bound may be null
+     */
+    private static <Y extends Comparable<? super Y>> void addRange(
+            List<Predicate> predicates, CriteriaBuilder cb, Expression<Y> path, Y from, Y to) {
+        
+        if (from != null && to != null) {
+            predicates.add(cb.between(path, from, to));
+        } else if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(path, from));
+        } else if (to != null) {
+            predicates.add(cb.lessThanOrEqualTo(path, to));
+        }
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
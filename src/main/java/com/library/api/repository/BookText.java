@@ -0,0 +1,14 @@
+package com.library.api.repository;
+
+/**
+ * Projection for the searchable text of a book
+ * Used to build the in-memory search index without loading full entities
+ */
+public interface BookText {
+
+    Long getId();
+
+    String getTitle();
+
+    String getAuthor();
+}
@@ -0,0 +1,56 @@
+package com.library.api.repository;
+
+import com.library.api.model.BookTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for BookTombstone entity
+ * Tombstones are inserted from the book rows about to be deleted, in the same transaction,
+ * so they must be written before the books are removed
+ */
+@Repository
+public interface BookTombstoneRepository extends JpaRepository<BookTombstone, Long> {
+
+    /**
+     * Record the given books as deleted (one INSERT ... SELECT)
+     */
+    @Modifying
+    @Query("INSERT INTO BookTombstone (bookId, libraryId, deletedAt) " +
+           "SELECT b.id, b.library.id, :deletedAt FROM Book b WHERE b.id IN :ids")
+    int insertForBooks(@Param("ids") Collection<Long> ids, @Param("deletedAt") LocalDateTime deletedAt);
+
+    /**
+     * Record all books of a library as deleted (one INSERT ... SELECT)
+     */
+    @Modifying
+    @Query("INSERT INTO BookTombstone (bookId, libraryId, deletedAt) " +
+           "SELECT b.id, b.library.id, :deletedAt FROM Book b WHERE b.library.id = :libraryId")
+    int insertForLibrary(@Param("libraryId") Long libraryId, @Param("deletedAt") LocalDateTime deletedAt);
+
+    /**
+     * Tombstones after the keyset position (from, afterId) and before until, in (deleted_at, book_id) order
+     */
+    @Query("SELECT t FROM BookTombstone t WHERE t.deletedAt >= :from AND t.deletedAt < :until " +
+           "AND (t.deletedAt > :from OR t.bookId > :afterId) ORDER BY t.deletedAt, t.bookId")
+    List<BookTombstone> findDeletedBetween(
+            @Param("from") LocalDateTime from,
+            @Param("afterId") Long afterId,
+            @Param("until") LocalDateTime until,
+            Pageable pageable);
+
+    /**
+     * Drop tombstones older than the cutoff
+     */
+    @Modifying
+    @Query("DELETE FROM BookTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
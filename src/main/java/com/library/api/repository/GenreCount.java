@@ -0,0 +1,10 @@
+package com.library.api.repository;
+
+/**
+ * Book count of one genre, grouped case-insensitively like the genre filter matches
+ *
+ * @param genre upper-cased genre, the facet value passed back as the genre filter
+ * @param label the genre as written in the catalog, for display
+ */
+public record GenreCount(String genre, String label, long count) {
+}
@@ -0,0 +1,13 @@
+package com.library.api.repository;
+
+/**
+ * Projection for per-library book counts
+ * Returned by grouped count queries so libraries can be listed
+ * without initializing their lazy books collections
+ */
+public interface LibraryBookCount {
+
+    Long getLibraryId();
+
+    long getBookCount();
+}
@@ -1,7 +1,12 @@
 package com.library.api.repository;
 
 import com.library.api.model.Library;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -24,4 +29,31 @@ public interface LibraryRepository extends JpaRepository<Library, Long> {
      * Check if library exists by name
      */
     boolean existsByName(String name);
+
+    /**
+     * Find all libraries (slice, no count)
+     */
+    Slice<Library> findSliceBy(Pageable pageable);
+
+    /**
+     * Delete a library with one statement
+     * Its books are removed by the database (ON DELETE CASCADE on fk_book_library)
+     */
+    @Modifying
+    @Query("DELETE FROM Library l WHERE l.id = :id")
+    int deleteByIdInBulk(@Param("id") Long id);
+
+    /**
+     * Version of a single library for conditional GETs (its book count is part of the response)
+     */
+    @Query("SELECT new com.library.api.repository.ResourceVersion(l.updatedAt, MAX(b.updatedAt), COUNT(b)) " +
+           "FROM Library l LEFT JOIN l.books b WHERE l.id = :id GROUP BY l.id, l.updatedAt")
+    Optional<ResourceVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * Version of the library list (book changes alter the listed book counts)
+     */
+    @Query("SELECT new com.library.api.repository.ResourceVersion(MAX(l.updatedAt), " +
+           "(SELECT MAX(b.updatedAt) FROM Book b), COUNT(l) + (SELECT COUNT(b) FROM Book b)) FROM Library l")
+    ResourceVersion findVersion();
 }
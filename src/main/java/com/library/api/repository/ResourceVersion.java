@@ -0,0 +1,29 @@
+package com.library.api.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Validator data for a resource or a collection: the latest updated_at behind its
+ * representation and the number of rows in it
+ * Inserts and updates move lastModified forward and deletes lower the count, so any
+ * change to the underlying rows yields a different version
+ *
+ * @param lastModified null for an empty collection
+ */
+public record ResourceVersion(LocalDateTime lastModified, long count) {
+
+    /**
+     * Used by constructor expressions that select two timestamps (e.g. book and library);
+     * either may be null
+     */
+    public ResourceVersion(LocalDateTime lastModified, LocalDateTime otherLastModified, Long count) {
+        this(latest(lastModified, otherLastModified), count != null ? count : 0);
+    }
+
+    private static LocalDateTime latest(LocalDateTime first, LocalDateTime second) {
+        if (first == null) {
+            return second;
+        }
+        return second != null && second.isAfter(first) ? second : first;
+    }
+}
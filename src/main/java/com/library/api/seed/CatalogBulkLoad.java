@@ -0,0 +1,107 @@
+package com.library.api.seed;
+
+import org.springframework.core.io.ClassPathResource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Replaces the whole catalog with rows inserted through plain JDBC
+ * {@link #begin(DataSource)} empties both tables and drops the secondary book indexes from
+ * schema.sql and the ISBN unique constraint; {@link #finish(long, long)} recreates them and moves
+ * the ID sequences past the explicitly inserted IDs. Building the indexes once over the loaded
+ * rows is much cheaper than maintaining them row by row, and re-adding the constraint also
+ * checks that the loaded ISBNs are unique.
+ *
+ * Used by CatalogSeeder, which runs before the web server accepts requests.
+ */
+public final class CatalogBulkLoad {
+
+    private static final Pattern BOOK_INDEX = Pattern.compile(
+            "CREATE INDEX (\\w+) ON book\\s*\\([^)]*\\)", Pattern.CASE_INSENSITIVE);
+
+    public static final String INSERT_LIBRARY_SQL =
+            "INSERT INTO library (id, name, address, phone, email, established_date, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    public static final String INSERT_BOOK_SQL =
+            "INSERT INTO book (id, isbn, title, author, genre, publication_date, acquisition_date, pages, " +
+            "library_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final DataSource dataSource;
+    private final List<String[]> bookIndexes;
+    private final String isbnConstraint;
+
+    private CatalogBulkLoad(DataSource dataSource, List<String[]> bookIndexes, String isbnConstraint) {
+        this.dataSource = dataSource;
+        this.bookIndexes = bookIndexes;
+        this.isbnConstraint = isbnConstraint;
+    }
+
+    /**
+     * Empty the catalog tables and drop the book indexes ahead of a bulk insert
+     */
+    public static CatalogBulkLoad begin(DataSource dataSource) throws IOException, SQLException {
+        List<String[]> bookIndexes = readBookIndexes();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE book");
+            statement.execute("DELETE FROM library");
+            for (String[] index : bookIndexes) {
+                statement.execute("DROP INDEX IF EXISTS " + index[0]);
+            }
+            String isbnConstraint = findIsbnConstraint(statement);
+            statement.execute("ALTER TABLE book DROP CONSTRAINT " + isbnConstraint);
+            return new CatalogBulkLoad(dataSource, bookIndexes, isbnConstraint);
+        }
+    }
+
+    /**
+     * Recreate the book indexes and continue the ID sequences after the loaded rows
+     */
+    public void finish(long nextLibraryId, long nextBookId) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE book ADD CONSTRAINT " + isbnConstraint + " UNIQUE (isbn)");
+            for (String[] index : bookIndexes) {
+                statement.execute(index[1]);
+            }
+            statement.execute("ALTER TABLE library ALTER COLUMN id RESTART WITH " + nextLibraryId);
+            statement.execute("ALTER TABLE book ALTER COLUMN id RESTART WITH " + nextBookId);
+        }
+    }
+
+    /**
+     * Secondary book indexes declared in schema.sql as {name, CREATE statement}
+     */
+    private static List<String[]> readBookIndexes() throws IOException {
+        String schema = new ClassPathResource("schema.sql").getContentAsString(StandardCharsets.UTF_8);
+        List<String[]> indexes = new ArrayList<>();
+        Matcher matcher = BOOK_INDEX.matcher(schema);
+        while (matcher.find()) {
+            indexes.add(new String[] {matcher.group(1), matcher.group()});
+        }
+        return indexes;
+    }
+
+    /**
+     * Name of the unique constraint on book.isbn (generated by H2 for the inline UNIQUE)
+     */
+    private static String findIsbnConstraint(Statement statement) throws SQLException {
+        try (ResultSet result = statement.executeQuery(
+                "SELECT tc.CONSTRAINT_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS tc " +
+                "JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE kcu ON kcu.CONSTRAINT_NAME = tc.CONSTRAINT_NAME " +
+                "WHERE tc.TABLE_NAME = 'BOOK' AND tc.CONSTRAINT_TYPE = 'UNIQUE' AND kcu.COLUMN_NAME = 'ISBN'")) {
+            if (!result.next()) {
+                throw new IllegalStateException("No unique constraint on book.isbn");
+            }
+            return result.getString(1);
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.library.api.seed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Synthetic catalog generator for performance work (activate with the "seed" profile)
+ * Replaces the data.sql sample rows with library.seed.libraries libraries and
+ * library.seed.books books once the schema is initialized, before the web server accepts
+ * requests and before the in-memory indexes are built.
+ *
+ * Output is deterministic for a given random seed and size: books are generated in fixed-size
+ * chunks, each with its own random stream, and carry explicit IDs, so the thread count only
+ * changes the speed. Authors, genres and libraries follow Zipf distributions (a few very
+ * popular ones, a long tail), publication dates lean towards recent years, page counts are
+ * log-normal and ISBN-13s are unique with valid check digits.
+ *
+ * Rows go in through plain JDBC batches on parallel connections, with the book indexes
+ * dropped for the load (see {@link CatalogBulkLoad}).
+ */
+@Component
+@Profile("seed")
+@Slf4j
+public class CatalogSeeder implements SmartInitializingSingleton {
+
+    private static final int CHUNK_SIZE = 100_000;
+
+    /**
+     * Newest date generated, fixed so the catalog does not depend on the day it is generated
+     */
+    private static final LocalDate CATALOG_DATE = LocalDate.of(2025, 12, 31);
+    private static final LocalDate FIRST_ACQUISITION = LocalDate.of(1995, 1, 1);
+
+    /**
+     * Multiplier coprime to 10^9, so id * ISBN_STRIDE mod 10^9 is unique per book
+     */
+    private static final long ISBN_STRIDE = 387_420_489L;
+    private static final long ISBN_SPACE = 1_000_000_000L;
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "William", "Elizabeth",
+            "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Christopher", "Nancy", "Daniel", "Lisa", "Matthew", "Margaret", "Anthony", "Betty", "Mark", "Sandra",
+            "Donald", "Ashley", "Steven", "Dorothy", "Paul", "Kimberly", "Andrew", "Emily", "Joshua", "Donna",
+            "Kenneth", "Michelle", "Kevin", "Carol", "Brian", "Amanda", "George", "Melissa", "Edward", "Deborah",
+            "Aoife", "Ciara", "Niamh", "Siobhan", "Sean", "Liam", "Cian", "Oisin", "Haruki", "Chimamanda",
+            "Gabriel", "Isabel", "Orhan", "Elena"};
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+            "Walker", "Young", "Allen", "King", "Wright", "Scott", "Torres", "Nguyen", "Hill", "Flores",
+            "Green", "Adams", "Nelson", "Baker", "Hall", "Rivera", "Campbell", "Mitchell", "Carter", "Roberts",
+            "Murphy", "Kelly", "O'Sullivan", "Walsh", "O'Brien", "Byrne", "Ryan", "O'Connor", "O'Neill", "Doyle",
+            "McCarthy", "Gallagher", "Doherty", "Kennedy", "Lynch", "Murray", "Quinn", "Dunne", "McLoughlin", "Carroll",
+            "Tanaka", "Suzuki", "Adichie", "Marquez", "Allende", "Pamuk", "Ferrante", "Okri", "Achebe", "Murakami",
+            "Atwood", "Ishiguro", "Rushdie", "Morrison", "Tolkien", "Austen", "Orwell", "Woolf", "Joyce", "Beckett",
+            "Heaney", "Yeats", "Wilde", "Shaw", "Swift", "Stoker", "Binchy", "Toibin", "Enright", "Rooney",
+            "Barry", "Power", "Banville", "Keegan", "Tremain", "Mantel", "Hughes", "Higgins", "Hardy", "Eliot",
+            "Bronte", "Dickens", "Trollope", "Gaskell", "Conrad", "Forster", "Lawrence", "Waugh"};
+    private static final String[] GENRES = {
+            "Fiction", "Mystery", "Romance", "Science Fiction", "Fantasy", "Thriller", "Biography", "History",
+            "Children's Literature", "Young Adult", "Classic Fiction", "Horror", "Poetry", "Self-Help", "Travel",
+            "Cookery", "Science", "Philosophy", "Graphic Novel", "Short Stories", "Drama", "Religion", "Art",
+            "Business", "Politics", "Sport", "Music", "Psychology", "True Crime", "Humour"};
+    private static final String[] ADJECTIVES = {
+            "Silent", "Hidden", "Last", "Broken", "Golden", "Forgotten", "Secret", "Burning", "Distant", "Crimson",
+            "Endless", "Frozen", "Wild", "Quiet", "Lost", "Bright", "Dark", "Little", "Ancient", "Final",
+            "Hollow", "Restless", "Shining", "Wandering", "Bitter", "Gentle", "Invisible", "Sleeping", "Savage", "Velvet"};
+    private static final String[] NOUNS = {
+            "Garden", "River", "House", "Mountain", "Promise", "Kingdom", "Letter", "Winter", "Harbour", "Island",
+            "Shadow", "Voyage", "Daughter", "Stranger", "Library", "Orchard", "Lighthouse", "Storm", "Bridge", "Forest",
+            "Empire", "Memory", "Journey", "Machine", "Crown", "Mirror", "Station", "Fire", "Song", "Road"};
+    private static final String[] PLACES = {
+            "Dublin", "the North", "the Sea", "Avalon", "the Valley", "Galway", "the Stars", "Kerry", "the City",
+            "Tomorrow", "the Moor", "Connemara", "the Border", "Atlantis", "the Desert", "Sligo", "the Marsh", "Eden"};
+    private static final String[] CITIES = {
+            "Dublin", "Cork", "Galway", "Limerick", "Waterford", "Drogheda", "Kilkenny", "Sligo", "Athlone", "Wexford",
+            "Dundalk", "Ennis", "Tralee", "Carlow", "Navan", "Bray", "Letterkenny", "Mullingar", "Tullamore", "Castlebar"};
+    private static final String[] LIBRARY_KINDS = {
+            "Central Library", "Public Library", "Community Library", "University Library", "City Library",
+            "County Library", "Reading Center", "Heritage Library"};
+
+    private final DataSource dataSource;
+    private final int libraryCount;
+    private final long bookCount;
+    private final long randomSeed;
+    private final int batchSize;
+    private final int threads;
+
+    public CatalogSeeder(
+            DataSource dataSource,
+            @Value("${library.seed.libraries}") int libraryCount,
+            @Value("${library.seed.books}") long bookCount,
+            @Value("${library.seed.random-seed}") long randomSeed,
+            @Value("${library.seed.batch-size}") int batchSize,
+            @Value("${library.seed.threads}") int threads) {
+
+        this.dataSource = dataSource;
+        this.libraryCount = libraryCount;
+        this.bookCount = bookCount;
+        this.randomSeed = randomSeed;
+        this.batchSize = batchSize;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Zipf distribution over ranks 0..size-1 (rank 0 most frequent), sampled by binary search
+     */
+    static final class Zipf {
+
+        private final double[] cumulative;
+
+        Zipf(int size, double exponent) {
+            cumulative = new double[size];
+            double sum = 0;
+            for (int rank = 0; rank < size; rank++) {
+                sum += 1 / Math.pow(rank + 1, exponent);
+                cumulative[rank] = sum;
+            }
+            for (int rank = 0; rank < size; rank++) {
+                cumulative[rank] /= sum;
+            }
+        }
+
+        int sample(SplittableRandom random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            seed();
+        } catch (Exception ex) {
+            throw new IllegalStateException("Seeding the catalog failed", ex);
+        }
+    }
+
+    private void seed() throws Exception {
+        long start = System.currentTimeMillis();
+        log.info("Seeding {} libraries and {} books (seed {}, {} threads)", libraryCount, bookCount, randomSeed, threads);
+
+        CatalogBulkLoad bulkLoad = CatalogBulkLoad.begin(dataSource);
+        insertLibraries();
+        insertBooks();
+        long loaded = System.currentTimeMillis();
+        // Later inserts continue after the explicitly assigned IDs
+        bulkLoad.finish(libraryCount + 1, bookCount + 1);
+
+        log.info("Seeded catalog in {} ms (rows {} ms, indexes {} ms)", System.currentTimeMillis() - start,
+                loaded - start, System.currentTimeMillis() - loaded);
+    }
+
+    private void insertLibraries() throws SQLException {
+        SplittableRandom random = new SplittableRandom(randomSeed);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement(CatalogBulkLoad.INSERT_LIBRARY_SQL)) {
+            connection.setAutoCommit(false);
+            for (int i = 0; i < libraryCount; i++) {
+                String city = CITIES[i % CITIES.length];
+                int series = i / CITIES.length;
+                String kind = LIBRARY_KINDS[series % LIBRARY_KINDS.length];
+                int branch = series / LIBRARY_KINDS.length;
+
+                insert.setLong(1, i + 1);
+                insert.setString(2, city + " " + kind + (branch > 0 ? " " + (branch + 1) : ""));
+                insert.setString(3, (1 + random.nextInt(200)) + " Main Street, " + city + ", Ireland");
+                insert.setString(4, String.format("+353-%d-%03d-%04d", 1 + random.nextInt(99),
+                        random.nextInt(1000), random.nextInt(10_000)));
+                insert.setString(5, "info" + (i + 1) + "@" + city.toLowerCase() + "library.ie");
+                insert.setDate(6, Date.valueOf(LocalDate.of(1850 + random.nextInt(170), 1, 1)
+                        .plusDays(random.nextInt(365))));
+                insert.setTimestamp(7, now);
+                insert.setTimestamp(8, now);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+    }
+
+    private void insertBooks() throws InterruptedException, ExecutionException {
+        // Shared, read-only samplers; each chunk draws from its own random stream
+        Zipf authors = new Zipf((int) Math.min(Math.max(bookCount / 20, 50), 500_000), 1.0);
+        Zipf genres = new Zipf(GENRES.length, 1.1);
+        Zipf libraries = new Zipf(libraryCount, 0.7);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        long chunks = (bookCount + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long chunk = 0; chunk < chunks; chunk++) {
+                long firstId = chunk * CHUNK_SIZE + 1;
+                long lastId = Math.min(firstId + CHUNK_SIZE - 1, bookCount);
+                long chunkSeed = randomSeed * 1_000_003 + chunk;
+                futures.add(executor.submit(() -> {
+                    insertBookChunk(firstId, lastId, new SplittableRandom(chunkSeed), authors, genres, libraries, now);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+    }
+
+    private void insertBookChunk(long firstId, long lastId, SplittableRandom random,
+                                 Zipf authors, Zipf genres, Zipf libraries, Timestamp now) throws SQLException {
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement(CatalogBulkLoad.INSERT_BOOK_SQL)) {
+            connection.setAutoCommit(false);
+            int pending = 0;
+            for (long id = firstId; id <= lastId; id++) {
+                LocalDate published = publicationDate(random);
+                LocalDate acquisitionFrom = published.isAfter(FIRST_ACQUISITION) ? published : FIRST_ACQUISITION;
+                long acquisitionRange = CATALOG_DATE.toEpochDay() - acquisitionFrom.toEpochDay() + 1;
+
+                insert.setLong(1, id);
+                insert.setString(2, isbn13(id));
+                insert.setString(3, title(random));
+                insert.setString(4, authorName(authors.sample(random)));
+                insert.setString(5, GENRES[genres.sample(random)]);
+                insert.setDate(6, Date.valueOf(published));
+                insert.setDate(7, Date.valueOf(acquisitionFrom.plusDays(random.nextLong(acquisitionRange))));
+                insert.setInt(8, pages(random));
+                insert.setLong(9, libraries.sample(random) + 1);
+                insert.setTimestamp(10, now);
+                insert.setTimestamp(11, now);
+                insert.addBatch();
+
+                if (++pending == batchSize) {
+                    insert.executeBatch();
+                    connection.commit();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                insert.executeBatch();
+                connection.commit();
+            }
+        }
+    }
+
+    /**
+     * Mostly recent titles (exponential age, mean 25 years) plus a tail of classics from 1600-1950
+     */
+    private static LocalDate publicationDate(SplittableRandom random) {
+        int year;
+        if (random.nextInt(100) < 85) {
+            year = CATALOG_DATE.getYear() - (int) Math.min(-25 * Math.log(1 - random.nextDouble()), 300);
+        } else {
+            year = 1600 + random.nextInt(351);
+        }
+        LocalDate date = LocalDate.ofYearDay(year, 1 + random.nextInt(365));
+        return date.isAfter(CATALOG_DATE) ? CATALOG_DATE : date;
+    }
+
+    /**
+     * Log-normal page count, median around 270
+     */
+    private static int pages(SplittableRandom random) {
+        double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+        return (int) Math.max(24, Math.min(2000, Math.round(Math.exp(5.6 + 0.45 * gaussian))));
+    }
+
+    private static String title(SplittableRandom random) {
+        String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+        String noun = NOUNS[random.nextInt(NOUNS.length)];
+        String place = PLACES[random.nextInt(PLACES.length)];
+        return switch (random.nextInt(4)) {
+            case 0 -> "The " + adjective + " " + noun;
+            case 1 -> "The " + noun + " of " + place;
+            case 2 -> "A " + adjective + " " + noun + " in " + place;
+            default -> adjective + " " + noun + ", Book " + (1 + random.nextInt(12));
+        };
+    }
+
+    /**
+     * Distinct name per author rank; ranks beyond the first x last combinations get initials
+     */
+    static String authorName(int rank) {
+        String first = FIRST_NAMES[rank % FIRST_NAMES.length];
+        String last = LAST_NAMES[(rank / FIRST_NAMES.length) % LAST_NAMES.length];
+        int generation = rank / (FIRST_NAMES.length * LAST_NAMES.length);
+        if (generation == 0) {
+            return first + " " + last;
+        }
+        StringBuilder initials = new StringBuilder();
+        for (int value = generation; value > 0; value /= 26) {
+            initials.append((char) ('A' + (value - 1) % 26)).append(". ");
+        }
+        return first + " " + initials + last;
+    }
+
+    /**
+     * Unique ISBN-13 per book ID: 978 + a 9 digit permutation of the ID + check digit
+     */
+    static String isbn13(long id) {
+        char[] digits = {'9', '7', '8', '0', '0', '0', '0', '0', '0', '0', '0', '0', '0'};
+        long body = id * ISBN_STRIDE % ISBN_SPACE;
+        for (int i = 11; i >= 3; i--, body /= 10) {
+            digits[i] = (char) ('0' + body % 10);
+        }
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            sum += (digits[i] - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        digits[12] = (char) ('0' + (10 - sum % 10) % 10);
+        return new String(digits);
+    }
+}
@@ -5,6 +5,10 @@ import com.library.api.exception.ResourceNotFoundException;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Base Service with reusable utility methods
@@ -44,6 +48,24 @@ public abstract class BaseService {
         }
     }
 
+    /**
+     * Validate the IDs of a batch fetch and drop duplicates (first occurrence wins)
+     */
+    protected Set<Long> distinctBatchIds(List<Long> ids, int maxBatchSize) {
+        if (ids.isEmpty()) {
+            throw new BadRequestException("At least one ID is required");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new BadRequestException("IDs must not be null");
+        }
+        
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        if (distinct.size() > maxBatchSize) {
+            throw new BadRequestException("At most " + maxBatchSize + " IDs can be fetched at once");
+        }
+        return distinct;
+    }
+
     /**
      * Check if entity exists by ID
      * 
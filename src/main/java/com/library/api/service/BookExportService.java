@@ -0,0 +1,19 @@
+package com.library.api.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for catalog exports
+ * Defines the contract for streaming the whole catalog in one response
+ */
+public interface BookExportService {
+
+    /**
+     * Write books to the output stream, one BookResponse per line/record
+     * 
+     * @param libraryId Export only this library's books, or all books when null
+     * @return number of exported books
+     */
+    long exportBooks(Long libraryId, CatalogFormat format, OutputStream output) throws IOException;
+}
@@ -0,0 +1,57 @@
+package com.library.api.service;
+
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.library.api.dto.response.BookResponse;
+import com.library.api.mapper.CatalogCodec;
+import com.library.api.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of BookExportService
+ * Reads BookResponse projections through a forward-only Stream (JDBC fetch size applied
+ * by the repository) and writes each one straight to the output. Projections are not
+ * managed entities, so memory stays flat regardless of catalog size
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookExportServiceImpl implements BookExportService {
+
+    private final BookRepository bookRepository;
+    private final CatalogCodec catalogCodec;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportBooks(Long libraryId, CatalogFormat format, OutputStream output) throws IOException {
+        long start = System.currentTimeMillis();
+        long count = 0;
+        
+        try (Stream<BookResponse> books = libraryId == null
+                     ? bookRepository.streamAllResponses()
+                     : bookRepository.streamResponsesByLibraryId(libraryId);
+             SequenceWriter writer = catalogCodec.writer(format, BookResponse.class).writeValues(output)) {
+            
+            Iterator<BookResponse> iterator = books.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+                count++;
+            }
+        }
+        
+        if (format == CatalogFormat.NDJSON && count > 0) {
+            // Jackson only separates root values - NDJSON also terminates the last line
+            output.write('\n');
+        }
+        
+        log.info("Exported {} books as {} in {} ms", count, format, System.currentTimeMillis() - start);
+        return count;
+    }
+}
@@ -0,0 +1,18 @@
+package com.library.api.service;
+
+import com.library.api.dto.response.BulkImportResponse;
+
+import java.io.InputStream;
+
+/**
+ * Service interface for bulk book imports
+ * Defines the contract for loading a whole catalog in one request
+ */
+public interface BookImportService {
+
+    /**
+     * Import books from a stream of rows (one CreateBookRequest per line/record)
+     * Rows are validated and inserted in batches; invalid rows are reported, not fatal
+     */
+    BulkImportResponse importBooks(InputStream input, CatalogFormat format);
+}
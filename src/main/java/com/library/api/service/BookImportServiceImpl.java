@@ -0,0 +1,280 @@
+package com.library.api.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.library.api.config.DatabaseAdmissionLimiter;
+import com.library.api.dto.request.CreateBookRequest;
+import com.library.api.dto.response.BulkImportFailure;
+import com.library.api.dto.response.BulkImportResponse;
+import com.library.api.dto.response.ChangeEvent;
+import com.library.api.exception.BadRequestException;
+import com.library.api.feed.ChangeFeed;
+import com.library.api.index.BookFacetIndex;
+import com.library.api.index.BookSearchIndex;
+import com.library.api.index.IsbnIndex;
+import com.library.api.mapper.BookMapper;
+import com.library.api.mapper.CatalogCodec;
+import com.library.api.model.Book;
+import com.library.api.model.Library;
+import com.library.api.repository.BookJdbcRepository;
+import com.library.api.repository.LibraryRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of BookImportService
+ * Streams the upload with Jackson (the payload is never fully materialized),
+ * validates each row with the same rules as POST /api/books and inserts
+ * accepted rows in JDBC batches, one transaction per batch
+ * Only outcome counts and the first failures are kept, so memory does not grow with the upload
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookImportServiceImpl extends BaseService implements BookImportService {
+
+    private final BookJdbcRepository bookJdbcRepository;
+    private final LibraryRepository libraryRepository;
+    private final BookMapper bookMapper;
+    private final IsbnIndex isbnIndex;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookFacetIndex bookFacetIndex;
+    private final CacheInvalidator cacheInvalidator;
+    private final ChangeFeed changeFeed;
+    private final CatalogCodec catalogCodec;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final DatabaseAdmissionLimiter databaseAdmissionLimiter;
+
+    @Value("${library.bulk-import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${library.bulk-import.max-reported-failures:1000}")
+    private int maxReportedFailures;
+
+    /**
+     * A validated row waiting to be inserted
+     */
+    private record PendingRow(long line, CreateBookRequest request) {
+    }
+
+    /**
+     * Outcome counts plus the failures with the lowest line numbers
+     * Batch failures are reported after later validation failures, so the kept failures are a
+     * bounded max-heap on the line number rather than a prefix of the reports
+     */
+    private static final class ImportReport {
+
+        private final int maxFailures;
+        private final PriorityQueue<BulkImportFailure> failures =
+                new PriorityQueue<>(Comparator.comparingLong(BulkImportFailure::getLine).reversed());
+        private long imported;
+        private long failed;
+
+        ImportReport(int maxFailures) {
+            this.maxFailures = maxFailures;
+        }
+
+        void created() {
+            imported++;
+        }
+
+        void failed(long line, String isbn, String error) {
+            failed++;
+            if (maxFailures == 0) {
+                return;
+            }
+            BulkImportFailure failure = new BulkImportFailure(line, isbn, error);
+            if (failures.size() < maxFailures) {
+                failures.offer(failure);
+            } else if (line < failures.peek().getLine()) {
+                failures.poll();
+                failures.offer(failure);
+            }
+        }
+
+        BulkImportResponse toResponse() {
+            List<BulkImportFailure> sorted = new ArrayList<>(failures);
+            sorted.sort(Comparator.comparingLong(BulkImportFailure::getLine));
+            return BulkImportResponse.builder()
+                    .total(imported + failed)
+                    .imported(imported)
+                    .failed(failed)
+                    .failures(sorted)
+                    .build();
+        }
+    }
+
+    @Override
+    public BulkImportResponse importBooks(InputStream input, CatalogFormat format) {
+        long start = System.currentTimeMillis();
+        log.debug("Importing books from {} upload with batch size {}", format, batchSize);
+        
+        ImportReport report = new ImportReport(maxReportedFailures);
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+        Set<Long> knownLibraryIds = new HashSet<>();
+        
+        // The CSV header occupies the first line
+        long line = format == CatalogFormat.CSV ? 1 : 0;
+        
+        try (MappingIterator<CreateBookRequest> rows = catalogCodec.reader(format, CreateBookRequest.class).readValues(input)) {
+            while (true) {
+                CreateBookRequest request;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    line++;
+                    request = rows.nextValue();
+                } catch (JsonParseException ex) {
+                    // Malformed input - the parser cannot resynchronize, so stop here
+                    report.failed(ex.getLocation().getLineNr(), null,
+                            "Malformed input, import stopped: " + ex.getOriginalMessage());
+                    break;
+                } catch (JsonMappingException ex) {
+                    report.failed(line, null, "Unreadable row: " + ex.getOriginalMessage());
+                    continue;
+                }
+                
+                String error = validateRow(request);
+                if (error != null) {
+                    report.failed(line, request.getIsbn(), error);
+                    continue;
+                }
+                
+                batch.add(new PendingRow(line, request));
+                if (batch.size() >= batchSize) {
+                    insertBatch(batch, knownLibraryIds, report);
+                    batch.clear();
+                }
+            }
+        } catch (IOException ex) {
+            // Rows already validated are still inserted when reading fails midway
+            report.failed(line, null, "Could not read upload: " + ex.getMessage());
+        }
+        insertBatch(batch, knownLibraryIds, report);
+        
+        BulkImportResponse response = report.toResponse();
+        log.info("Imported {} of {} books in {} ms", response.getImported(), response.getTotal(),
+                System.currentTimeMillis() - start);
+        return response;
+    }
+
+    /**
+     * Validate a row with the bean validation constraints and the BaseService rules
+     * 
+     * @return the error message, or null if the row is valid
+     */
+    private String validateRow(CreateBookRequest request) {
+        Set<ConstraintViolation<CreateBookRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        
+        try {
+            validateAcquisitionDate(request.getPublicationDate(), request.getAcquisitionDate());
+        } catch (BadRequestException ex) {
+            return ex.getMessage();
+        }
+        return null;
+    }
+
+    /**
+     * Insert a batch of validated rows in one transaction
+     * Libraries not seen before are checked with a single query per batch;
+     * ISBNs are claimed through the ISBN index (which also catches duplicates within the batch)
+     * If the transaction fails, every row of the batch not already rejected is reported with the cause
+     */
+    private void insertBatch(List<PendingRow> batch, Set<Long> knownLibraryIds, ImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        
+        List<BulkImportFailure> rejected = new ArrayList<>();
+        List<PendingRow> accepted = new ArrayList<>(batch.size());
+        List<Book> books = new ArrayList<>(batch.size());
+        
+        try {
+            databaseAdmissionLimiter.run(() -> transactionTemplate.executeWithoutResult(status -> {
+                Set<Long> unknownLibraryIds = batch.stream()
+                        .map(row -> row.request().getLibraryId())
+                        .filter(id -> !knownLibraryIds.contains(id))
+                        .collect(Collectors.toSet());
+                if (!unknownLibraryIds.isEmpty()) {
+                    libraryRepository.findAllById(unknownLibraryIds)
+                            .forEach(library -> knownLibraryIds.add(library.getId()));
+                }
+                
+                Map<Long, Library> libraries = new HashMap<>();
+                for (PendingRow row : batch) {
+                    CreateBookRequest request = row.request();
+                    if (!knownLibraryIds.contains(request.getLibraryId())) {
+                        rejected.add(new BulkImportFailure(row.line(), request.getIsbn(),
+                                "Library with ID " + request.getLibraryId() + " not found"));
+                        continue;
+                    }
+                    try {
+                        isbnIndex.reserve(request.getIsbn(), null);
+                    } catch (BadRequestException ex) {
+                        rejected.add(new BulkImportFailure(row.line(), request.getIsbn(), ex.getMessage()));
+                        continue;
+                    }
+                    
+                    Book book = bookMapper.toEntity(request);
+                    book.setLibrary(libraries.computeIfAbsent(request.getLibraryId(), libraryRepository::getReferenceById));
+                    books.add(book);
+                    accepted.add(row);
+                }
+                
+                bookJdbcRepository.insertAll(books);
+                
+                books.forEach(book -> {
+                    isbnIndex.assign(book.getIsbn(), book.getId());
+                    bookSearchIndex.indexAfterCommit(book.getId(), book.getTitle(), book.getAuthor());
+                    bookFacetIndex.addAfterCommit(BookFacetIndex.FacetKey.of(book));
+                    changeFeed.publishAfterCommit(ChangeEvent.Entity.BOOK, ChangeEvent.Action.CREATED, book.getId(),
+                            book.getLibrary().getId());
+                });
+                libraries.keySet().forEach(cacheInvalidator::evictLibrary);
+            }));
+        } catch (RuntimeException ex) {
+            // The whole batch was rolled back (and its ISBN reservations released); rows the loop did not
+            // reach yet (e.g. no DB admission) are failed along with the accepted ones
+            String cause = ex instanceof DataAccessException dataAccess
+                    ? dataAccess.getMostSpecificCause().getMessage()
+                    : ex.getMessage();
+            log.warn("Bulk import batch of {} rows failed: {}", batch.size(), cause);
+            Set<Long> rejectedLines = rejected.stream().map(BulkImportFailure::getLine).collect(Collectors.toSet());
+            rejected.forEach(failure -> report.failed(failure.getLine(), failure.getIsbn(), failure.getError()));
+            batch.stream()
+                    .filter(row -> !rejectedLines.contains(row.line()))
+                    .forEach(row -> report.failed(row.line(), row.request().getIsbn(), "Batch insert failed: " + cause));
+            return;
+        }
+        
+        rejected.forEach(failure -> report.failed(failure.getLine(), failure.getIsbn(), failure.getError()));
+        accepted.forEach(row -> report.created());
+    }
+}
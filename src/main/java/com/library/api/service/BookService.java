@@ -1,12 +1,20 @@
 package com.library.api.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.library.api.dto.request.BookFilter;
 import com.library.api.dto.request.CreateBookRequest;
 import com.library.api.dto.request.UpdateBookRequest;
+import com.library.api.dto.response.BatchResponse;
 import com.library.api.dto.response.BookResponse;
+import com.library.api.dto.response.FacetsResponse;
 import com.library.api.dto.response.PageResponse;
+import com.library.api.repository.ResourceVersion;
+import com.library.api.util.FieldSelection;
+import com.library.api.util.KeysetCursor;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Service interface for Book business logic
@@ -15,15 +23,59 @@ import java.time.LocalDate;
 public interface BookService {
 
     /**
-     * Get all books (paginated)
+     * Get books matching all supplied filters (paginated)
+     * When withTotal is false the count query is skipped and totals are omitted
+     * Only the selected fields are read from the database
      */
-    PageResponse<BookResponse> getAllBooks(Pageable pageable);
+    PageResponse<BookResponse> getAllBooks(BookFilter filter, Pageable pageable, boolean withTotal,
+                                           FieldSelection fields);
+
+    /**
+     * Get books matching all supplied filters (keyset pagination)
+     */
+    PageResponse<BookResponse> getAllBooks(BookFilter filter, KeysetCursor cursor, int size, FieldSelection fields);
+
+    /**
+     * Get genre, library and publication decade counts for books matching the filter
+     */
+    FacetsResponse getFacets(BookFilter filter);
+
+    /**
+     * Get the version of all books matching the filter (for conditional GETs)
+     */
+    ResourceVersion getBooksVersion(BookFilter filter);
 
     /**
      * Get book by ID
      */
     BookResponse getBookById(Long id);
 
+    /**
+     * Get several books by ID with one query
+     * Found books come back in the order of the IDs, unknown IDs are reported as missing
+     */
+    BatchResponse<BookResponse> getBooksByIds(List<Long> ids);
+
+    /**
+     * Get book by ISBN (resolved through the in-memory ISBN index)
+     */
+    BookResponse getBookByIsbn(String isbn);
+
+    /**
+     * Get the version of a book without loading it (for conditional GETs)
+     */
+    ResourceVersion getBookVersion(Long id);
+
+    /**
+     * Get the version of a book by ISBN without loading it (for conditional GETs)
+     */
+    ResourceVersion getBookVersionByIsbn(String isbn);
+
+    /**
+     * Full-text search over title and author, ranked by relevance
+     */
+    PageResponse<BookResponse> searchBooks(String query, Pageable pageable);
+
     /**
      * Create new book
      */
@@ -34,6 +86,12 @@ public interface BookService {
      */
     BookResponse updateBook(Long id, UpdateBookRequest request);
 
+    /**
+     * Partially update a book from a JSON merge patch
+     * Only the fields present in the patch are validated and written
+     */
+    BookResponse patchBook(Long id, JsonNode patch);
+
     /**
      * Delete book
      */
@@ -46,7 +104,9 @@ public interface BookService {
     PageResponse<BookResponse> getBooksByPublicationDateRange(
             LocalDate startDate, 
             LocalDate endDate, 
-            Pageable pageable
+            Pageable pageable,
+            boolean withTotal,
+            FieldSelection fields
     );
 
     /**
@@ -55,16 +115,8 @@ public interface BookService {
     PageResponse<BookResponse> getBooksByAcquisitionDateRange(
             LocalDate startDate,
             LocalDate endDate,
-            Pageable pageable
+            Pageable pageable,
+            boolean withTotal,
+            FieldSelection fields
     );
-
-    /**
-     * Search books by author (paginated)
-     */
-    PageResponse<BookResponse> searchBooksByAuthor(String author, Pageable pageable);
-
-    /**
-     * Get books by genre (paginated)
-     */
-    PageResponse<BookResponse> getBooksByGenre(String genre, Pageable pageable);
 }
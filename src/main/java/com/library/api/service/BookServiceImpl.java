@@ -1,23 +1,57 @@
 package com.library.api.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.library.api.config.CacheConfig;
+import com.library.api.dto.request.BookFilter;
 import com.library.api.dto.request.CreateBookRequest;
 import com.library.api.dto.request.UpdateBookRequest;
+import com.library.api.dto.response.BatchResponse;
 import com.library.api.dto.response.BookResponse;
+import com.library.api.dto.response.ChangeEvent;
+import com.library.api.dto.response.FacetValue;
+import com.library.api.dto.response.FacetsResponse;
 import com.library.api.dto.response.PageResponse;
 import com.library.api.exception.BadRequestException;
+import com.library.api.exception.ResourceNotFoundException;
+import com.library.api.feed.ChangeFeed;
+import com.library.api.index.BookFacetIndex;
+import com.library.api.index.BookSearchIndex;
+import com.library.api.index.IsbnIndex;
 import com.library.api.mapper.BookMapper;
+import com.library.api.mapper.MergePatchMapper;
 import com.library.api.model.Book;
 import com.library.api.model.Library;
 import com.library.api.repository.BookRepository;
+import com.library.api.repository.BookSpecifications;
+import com.library.api.repository.BookTombstoneRepository;
+import com.library.api.repository.GenreCount;
 import com.library.api.repository.LibraryRepository;
+import com.library.api.repository.ResourceVersion;
+import com.library.api.util.FieldSelection;
+import com.library.api.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of BookService
@@ -30,74 +64,246 @@ import java.time.LocalDate;
 public class BookServiceImpl extends BaseService implements BookService {
 
     private final BookRepository bookRepository;
+    private final BookTombstoneRepository bookTombstoneRepository;
     private final LibraryRepository libraryRepository;
     private final BookMapper bookMapper;
+    private final MergePatchMapper mergePatchMapper;
+    private final CacheInvalidator cacheInvalidator;
+    private final ChangeFeed changeFeed;
+    private final IsbnIndex isbnIndex;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookFacetIndex bookFacetIndex;
+
+    @Value("${library.batch.max-size}")
+    private int maxBatchSize;
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<BookResponse> getAllBooks(Pageable pageable) {
-        log.debug("Fetching all books with pagination: {}", pageable);
+    public PageResponse<BookResponse> getAllBooks(BookFilter filter, Pageable pageable, boolean withTotal,
+                                                  FieldSelection fields) {
+        log.debug("Fetching books matching {} with pagination: {}", filter, pageable);
+        
+        validateFilter(filter);
         
-        Page<BookResponse> bookPage = bookRepository.findAll(pageable)
-                .map(bookMapper::toResponse);
+        Slice<BookResponse> bookPage = bookRepository.findResponses(
+                BookSpecifications.matching(filter), pageable, withTotal, fields);
         
         return PageResponse.of(bookPage);
     }
 
     @Override
     @Transactional(readOnly = true)
+    public PageResponse<BookResponse> getAllBooks(BookFilter filter, KeysetCursor cursor, int size,
+                                                  FieldSelection fields) {
+        log.debug("Fetching books matching {} with keyset pagination: {} {}, size {}", 
+                filter, cursor.getSortField(), cursor.getDirection(), size);
+        
+        validateFilter(filter);
+        
+        Window<BookResponse> window = bookRepository.scrollResponses(
+                BookSpecifications.matching(filter), cursor, size, fields);
+        
+        return PageResponse.of(window, size, cursor.isFirst(), cursor.next(window));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FacetsResponse getFacets(BookFilter filter) {
+        log.debug("Fetching facets for {}", filter);
+        
+        if (filter.isEmpty()) {
+            // Unfiltered counts are maintained in memory
+            BookFacetIndex.Snapshot counts = bookFacetIndex.snapshot();
+            return toFacetsResponse(counts.total(), counts.genres(), counts.libraries(), counts.decades());
+        }
+        
+        validateFilter(filter);
+        Specification<Book> specification = BookSpecifications.matching(filter);
+        
+        // Every book has a library, so the library facet also yields the total
+        Map<Long, Long> libraries = bookRepository.countByLibrary(specification);
+        long total = libraries.values().stream().mapToLong(Long::longValue).sum();
+        
+        return toFacetsResponse(total, bookRepository.countByGenre(specification), libraries,
+                BookFacetIndex.toDecades(bookRepository.countByPublicationYear(specification)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getBooksVersion(BookFilter filter) {
+        validateFilter(filter);
+        return bookRepository.findVersion(BookSpecifications.matching(filter));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id")
     public BookResponse getBookById(Long id) {
         log.debug("Fetching book with ID: {}", id);
         
-        Book book = findByIdOrThrow(bookRepository, id, "Book");
-        return bookMapper.toResponse(book);
+        return bookRepository.findResponseById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Book", id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BatchResponse<BookResponse> getBooksByIds(List<Long> ids) {
+        log.debug("Fetching {} books by ID", ids.size());
+        
+        Set<Long> distinctIds = distinctBatchIds(ids, maxBatchSize);
+        Map<Long, BookResponse> books = bookRepository.findResponsesByIdIn(distinctIds).stream()
+                .collect(Collectors.toMap(BookResponse::getId, Function.identity()));
+        
+        return BatchResponse.of(distinctIds, books);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.BOOKS_CACHE, key = "@isbnIndex.requireBookId(#isbn)")
+    public BookResponse getBookByIsbn(String isbn) {
+        log.debug("Fetching book with ISBN: {}", isbn);
+        
+        // The cache key resolves the ISBN through the index (404 if unknown), so this
+        // method only runs on a cache miss and shares entries with getBookById
+        long id = isbnIndex.requireBookId(isbn);
+        return bookRepository.findResponseById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Book", id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getBookVersion(Long id) {
+        return bookRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Book", id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getBookVersionByIsbn(String isbn) {
+        return getBookVersion(isbnIndex.requireBookId(isbn));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<BookResponse> searchBooks(String query, Pageable pageable) {
+        log.debug("Searching books for: {}", query);
+        
+        BookSearchIndex.SearchResult result = bookSearchIndex.search(
+                query, pageable.getOffset(), pageable.getPageSize());
+        
+        // Load the page in one query, then restore the ranked order
+        Map<Long, BookResponse> books = bookRepository.findResponsesByIdIn(result.bookIds()).stream()
+                .collect(Collectors.toMap(BookResponse::getId, Function.identity()));
+        List<BookResponse> content = result.bookIds().stream()
+                .map(books::get)
+                .filter(Objects::nonNull)
+                .toList();
+        
+        return PageResponse.of(new PageImpl<>(content, pageable, result.total()));
     }
 
     @Override
     public BookResponse createBook(CreateBookRequest request) {
         log.debug("Creating new book: {}", request.getTitle());
         
-        validateIsbnUniqueness(request.getIsbn(), null);
         validateAcquisitionDate(request.getPublicationDate(), request.getAcquisitionDate());
         
         Library library = findByIdOrThrow(libraryRepository, request.getLibraryId(), "Library");
         
+        // Claims the ISBN atomically; released again if this transaction rolls back
+        isbnIndex.reserve(request.getIsbn(), null);
+        
         Book book = bookMapper.toEntity(request);
         book.setLibrary(library);
         
         Book savedBook = bookRepository.save(book);
+        isbnIndex.assign(savedBook.getIsbn(), savedBook.getId());
+        bookSearchIndex.indexAfterCommit(savedBook.getId(), savedBook.getTitle(), savedBook.getAuthor());
+        bookFacetIndex.addAfterCommit(BookFacetIndex.FacetKey.of(savedBook));
+        cacheInvalidator.evictLibrary(library.getId());
+        changeFeed.publishAfterCommit(ChangeEvent.Entity.BOOK, ChangeEvent.Action.CREATED, savedBook.getId(),
+                library.getId());
         
         log.info("Created book with ID: {} for library ID: {}", savedBook.getId(), library.getId());
         return bookMapper.toResponse(savedBook);
     }
 
     @Override
+    @CachePut(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id")
     public BookResponse updateBook(Long id, UpdateBookRequest request) {
         log.debug("Updating book with ID: {}", id);
         
         Book book = findByIdOrThrow(bookRepository, id, "Book");
+        return applyUpdate(book, request);
+    }
+
+    @Override
+    @CachePut(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id")
+    public BookResponse patchBook(Long id, JsonNode patch) {
+        log.debug("Patching book with ID: {}", id);
+        
+        Book book = findByIdOrThrow(bookRepository, id, "Book");
+        UpdateBookRequest request = mergePatchMapper.apply(bookMapper.toUpdateRequest(book), patch);
+        return applyUpdate(book, request);
+    }
+
+    /**
+     * Apply the new state to a loaded book
+     * The ISBN reservation and library lookup only run when those fields change, and dirty
+     * checking with @DynamicUpdate writes only the modified columns (nothing if none changed)
+     */
+    private BookResponse applyUpdate(Book book, UpdateBookRequest request) {
+        Long id = book.getId();
+        BookFacetIndex.FacetKey facetsBefore = BookFacetIndex.FacetKey.of(book);
         
-        validateIsbnUniqueness(request.getIsbn(), id);
         validateAcquisitionDate(request.getPublicationDate(), request.getAcquisitionDate());
         
+        if (!book.getIsbn().equals(request.getIsbn())) {
+            isbnIndex.reserve(request.getIsbn(), id);
+            isbnIndex.removeAfterCommit(book.getIsbn(), id);
+        }
+        
         if (!book.getLibrary().getId().equals(request.getLibraryId())) {
             Library library = findByIdOrThrow(libraryRepository, request.getLibraryId(), "Library");
+            // Book counts of both libraries change
+            cacheInvalidator.evictLibrary(book.getLibrary().getId());
+            cacheInvalidator.evictLibrary(library.getId());
             book.setLibrary(library);
         }
         
         bookMapper.updateEntity(book, request);
-        Book updatedBook = bookRepository.save(book);
+        // Flushed so the returned (cached) response carries the new updated_at
+        Book updatedBook = bookRepository.saveAndFlush(book);
+        // The library's validators include its books' updated_at
+        cacheInvalidator.evictLibrary(updatedBook.getLibrary().getId());
+        bookSearchIndex.indexAfterCommit(id, updatedBook.getTitle(), updatedBook.getAuthor());
+        
+        BookFacetIndex.FacetKey facetsAfter = BookFacetIndex.FacetKey.of(updatedBook);
+        if (!facetsAfter.equals(facetsBefore)) {
+            bookFacetIndex.removeAfterCommit(facetsBefore);
+            bookFacetIndex.addAfterCommit(facetsAfter);
+        }
+        changeFeed.publishAfterCommit(ChangeEvent.Entity.BOOK, ChangeEvent.Action.UPDATED, id,
+                updatedBook.getLibrary().getId());
         
         log.info("Updated book with ID: {}", id);
         return bookMapper.toResponse(updatedBook);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id")
     public void deleteBook(Long id) {
         log.debug("Deleting book with ID: {}", id);
         
         Book book = findByIdOrThrow(bookRepository, id, "Book");
+        bookTombstoneRepository.insertForBooks(List.of(id), LocalDateTime.now());
         bookRepository.delete(book);
+        isbnIndex.removeAfterCommit(book.getIsbn(), id);
+        bookSearchIndex.removeAfterCommit(id);
+        bookFacetIndex.removeAfterCommit(BookFacetIndex.FacetKey.of(book));
+        cacheInvalidator.evictLibrary(book.getLibrary().getId());
+        changeFeed.publishAfterCommit(ChangeEvent.Entity.BOOK, ChangeEvent.Action.DELETED, id,
+                book.getLibrary().getId());
         
         log.info("Deleted book with ID: {}", id);
     }
@@ -107,17 +313,14 @@ public class BookServiceImpl extends BaseService implements BookService {
     public PageResponse<BookResponse> getBooksByPublicationDateRange(
             LocalDate startDate, 
             LocalDate endDate, 
-            Pageable pageable) {
+            Pageable pageable,
+            boolean withTotal,
+            FieldSelection fields) {
         
         log.debug("Fetching books published between {} and {}", startDate, endDate);
         
-        validateDateRange(startDate, endDate);
-        
-        Page<BookResponse> bookPage = bookRepository
-                .findByPublicationDateBetween(startDate, endDate, pageable)
-                .map(bookMapper::toResponse);
-        
-        return PageResponse.of(bookPage);
+        return getAllBooks(BookFilter.builder().publishedFrom(startDate).publishedTo(endDate).build(),
+                pageable, withTotal, fields);
     }
 
     @Override
@@ -125,58 +328,59 @@ public class BookServiceImpl extends BaseService implements BookService {
     public PageResponse<BookResponse> getBooksByAcquisitionDateRange(
             LocalDate startDate,
             LocalDate endDate,
-            Pageable pageable) {
+            Pageable pageable,
+            boolean withTotal,
+            FieldSelection fields) {
         
         log.debug("Fetching books acquired between {} and {}", startDate, endDate);
         
-        validateDateRange(startDate, endDate);
-        
-        Page<BookResponse> bookPage = bookRepository
-                .findByAcquisitionDateBetween(startDate, endDate, pageable)
-                .map(bookMapper::toResponse);
-        
-        return PageResponse.of(bookPage);
+        return getAllBooks(BookFilter.builder().acquiredFrom(startDate).acquiredTo(endDate).build(),
+                pageable, withTotal, fields);
     }
 
-    @Override
-    @Transactional(readOnly = true)
-    public PageResponse<BookResponse> searchBooksByAuthor(String author, Pageable pageable) {
-        log.debug("Searching books by author: {}", author);
-        
-        Page<BookResponse> bookPage = bookRepository
-                .findByAuthorContainingIgnoreCase(author, pageable)
-                .map(bookMapper::toResponse);
+    /**
+     * Private helper method to turn facet counts into the response (one query for library names)
+     */
+    private FacetsResponse toFacetsResponse(long total, List<GenreCount> genres, Map<Long, Long> libraries,
+                                            Map<Integer, Long> decades) {
         
-        return PageResponse.of(bookPage);
-    }
-
-    @Override
-    @Transactional(readOnly = true)
-    public PageResponse<BookResponse> getBooksByGenre(String genre, Pageable pageable) {
-        log.debug("Fetching books by genre: {}", genre);
+        Map<Long, String> libraryNames = libraryRepository.findAllById(libraries.keySet()).stream()
+                .collect(Collectors.toMap(Library::getId, Library::getName));
         
-        Page<BookResponse> bookPage = bookRepository
-                .findByGenreIgnoreCase(genre, pageable)
-                .map(bookMapper::toResponse);
+        Comparator<FacetValue> byCountDescending = Comparator.comparingLong(FacetValue::getCount).reversed()
+                .thenComparing(FacetValue::getValue);
         
-        return PageResponse.of(bookPage);
+        return FacetsResponse.builder()
+                .total(total)
+                .genres(genres.stream()
+                        .map(genre -> new FacetValue(genre.genre(), genre.label(), genre.count()))
+                        .sorted(byCountDescending)
+                        .toList())
+                .libraries(libraries.entrySet().stream()
+                        .map(entry -> new FacetValue(String.valueOf(entry.getKey()),
+                                libraryNames.get(entry.getKey()), entry.getValue()))
+                        .sorted(byCountDescending)
+                        .toList())
+                .decades(decades.entrySet().stream()
+                        .sorted(Map.Entry.comparingByKey())
+                        .map(entry -> new FacetValue(String.valueOf(entry.getKey()), null, entry.getValue()))
+                        .toList())
+                .build();
     }
 
     /**
-     * Private helper method to validate ISBN uniqueness (DRY principle)
+     * Private helper method to reject inverted ranges in a filter
      */
-    private void validateIsbnUniqueness(String isbn, Long excludeBookId) {
-        if (bookRepository.existsByIsbn(isbn)) {
-            // If updating, check if the ISBN belongs to the same book
-            if (excludeBookId != null) {
-                bookRepository.findByIsbn(isbn).ifPresent(existingBook -> {
-                    if (!existingBook.getId().equals(excludeBookId)) {
-                        throw new BadRequestException("Book with ISBN " + isbn + " already exists");
-                    }
-                });
-            } else {
-                throw new BadRequestException("Book with ISBN " + isbn + " already exists");
-            }
+    private void validateFilter(BookFilter filter) {
+        if (filter.getPublishedFrom() != null && filter.getPublishedTo() != null) {
+            validateDateRange(filter.getPublishedFrom(), filter.getPublishedTo());
+        }
+        if (filter.getAcquiredFrom() != null && filter.getAcquiredTo() != null) {
+            validateDateRange(filter.getAcquiredFrom(), filter.getAcquiredTo());
+        }
+        if (filter.getMinPages() != null && filter.getMaxPages() != null
+                && filter.getMinPages() > filter.getMaxPages()) {
+            throw new BadRequestException("minPages must be less than or equal to maxPages");
         }
     }
 }
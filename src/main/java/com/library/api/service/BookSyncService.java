@@ -0,0 +1,21 @@
+package com.library.api.service;
+
+import com.library.api.dto.response.BookChangesResponse;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for incremental catalog sync
+ * Defines the contract for reading book changes and deletes since a point in time
+ */
+public interface BookSyncService {
+
+    /**
+     * Get one page of book changes (upserts and deletes) in (changedAt, id) order
+     * 
+     * @param since Changes at or after this time; null starts a full sync
+     * @param cursor Continuation token from the previous page, or null for the first page
+     * @param size Maximum number of changes in the page
+     */
+    BookChangesResponse getChanges(LocalDateTime since, String cursor, int size);
+}
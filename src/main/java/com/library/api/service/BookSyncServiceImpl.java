@@ -0,0 +1,199 @@
+package com.library.api.service;
+
+import com.library.api.dto.response.BookChange;
+import com.library.api.dto.response.BookChangesResponse;
+import com.library.api.dto.response.BookResponse;
+import com.library.api.exception.BadRequestException;
+import com.library.api.exception.ResourceGoneException;
+import com.library.api.model.BookTombstone;
+import com.library.api.repository.BookChangeKey;
+import com.library.api.repository.BookRepository;
+import com.library.api.repository.BookTombstoneRepository;
+import com.library.api.util.SyncCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of BookSyncService
+ * A page merges two keyset range scans - changed books from the (updated_at, id) index and
+ * tombstones from the (deleted_at, book_id) index - and loads the changed books by ID, so the
+ * cost of a sync follows the number of changes, not the catalog size.
+ *
+ * updated_at is assigned when a write flushes, not when it commits, so a sync only covers changes
+ * older than library.sync.settle-time; a transaction still open past that point could be missed.
+ * Tombstones are kept for library.sync.tombstone-retention (and only exist since startup, as the
+ * database lives in memory); an older since cannot be answered and asks for a full sync instead.
+ */
+@Service
+@Slf4j
+public class BookSyncServiceImpl implements BookSyncService {
+
+    /**
+     * Lower bound of a full sync (no since) - before any updated_at
+     */
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final BookRepository bookRepository;
+    private final BookTombstoneRepository bookTombstoneRepository;
+    private final Duration settleTime;
+    private final Duration tombstoneRetention;
+    private final int maxPageSize;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    public BookSyncServiceImpl(
+            BookRepository bookRepository,
+            BookTombstoneRepository bookTombstoneRepository,
+            @Value("${library.sync.settle-time}") Duration settleTime,
+            @Value("${library.sync.tombstone-retention}") Duration tombstoneRetention,
+            @Value("${library.sync.max-page-size}") int maxPageSize) {
+        
+        this.bookRepository = bookRepository;
+        this.bookTombstoneRepository = bookTombstoneRepository;
+        this.settleTime = settleTime;
+        this.tombstoneRetention = tombstoneRetention;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookChangesResponse getChanges(LocalDateTime since, String cursor, int size) {
+        log.debug("Fetching book changes since {} (cursor: {})", since, cursor);
+        
+        if (size < 1 || size > maxPageSize) {
+            throw new BadRequestException("size must be between 1 and " + maxPageSize);
+        }
+        
+        SyncCursor position = cursor != null ? SyncCursor.decode(cursor) : firstPosition(since);
+        if (!position.changedAt().isBefore(position.until())) {
+            // Nothing has settled after since yet
+            return BookChangesResponse.builder()
+                    .changes(List.of())
+                    .last(true)
+                    .syncedUpTo(position.changedAt())
+                    .build();
+        }
+        
+        // One more than requested from each side tells whether another page follows
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<BookChangeKey> updated = bookRepository.findChangeKeys(
+                position.changedAt(), position.id(), position.until(), limit);
+        List<BookTombstone> deleted = bookTombstoneRepository.findDeletedBetween(
+                position.changedAt(), position.id(), position.until(), limit);
+        
+        List<BookChange> changes = merge(updated, deleted, size);
+        boolean last = updated.size() + deleted.size() <= size;
+        BookChange tail = changes.isEmpty() ? null : changes.getLast();
+        fillBooks(changes);
+        
+        BookChangesResponse.BookChangesResponseBuilder response = BookChangesResponse.builder()
+                .changes(changes)
+                .last(last);
+        if (last) {
+            response.syncedUpTo(position.until());
+        } else {
+            response.nextCursor(position.after(tail.getChangedAt(), tail.getId()).encode());
+        }
+        return response.build();
+    }
+
+    /**
+     * Drop tombstones that are past the retention
+     */
+    @Scheduled(fixedDelayString = "${library.sync.tombstone-purge-interval}")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = bookTombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(tombstoneRetention));
+        if (purged > 0) {
+            log.info("Purged {} book tombstones older than {}", purged, tombstoneRetention);
+        }
+    }
+
+    private SyncCursor firstPosition(LocalDateTime since) {
+        // Stored timestamps have microsecond precision
+        LocalDateTime until = LocalDateTime.now().minus(settleTime).truncatedTo(ChronoUnit.MICROS);
+        if (since == null) {
+            return SyncCursor.first(BEGINNING, until);
+        }
+        
+        LocalDateTime horizon = LocalDateTime.now().minus(tombstoneRetention);
+        if (horizon.isBefore(startedAt)) {
+            horizon = startedAt;
+        }
+        if (since.isBefore(horizon)) {
+            throw new ResourceGoneException("Deletes are only kept since " + horizon +
+                    " - start a full sync by omitting since");
+        }
+        return SyncCursor.first(since, until);
+    }
+
+    /**
+     * Merge both (changedAt, id)-ordered lists, keeping the first max entries
+     */
+    private static List<BookChange> merge(List<BookChangeKey> updated, List<BookTombstone> deleted, int max) {
+        List<BookChange> changes = new ArrayList<>(max);
+        int u = 0;
+        int d = 0;
+        while (changes.size() < max && (u < updated.size() || d < deleted.size())) {
+            if (d == deleted.size() || (u < updated.size() && isBefore(updated.get(u), deleted.get(d)))) {
+                BookChangeKey key = updated.get(u++);
+                changes.add(BookChange.builder()
+                        .type(BookChange.Type.UPSERT)
+                        .id(key.getId())
+                        .changedAt(key.getChangedAt())
+                        .build());
+            } else {
+                BookTombstone tombstone = deleted.get(d++);
+                changes.add(BookChange.builder()
+                        .type(BookChange.Type.DELETE)
+                        .id(tombstone.getBookId())
+                        .changedAt(tombstone.getDeletedAt())
+                        .libraryId(tombstone.getLibraryId())
+                        .build());
+            }
+        }
+        return changes;
+    }
+
+    private static boolean isBefore(BookChangeKey key, BookTombstone tombstone) {
+        int byTime = key.getChangedAt().compareTo(tombstone.getDeletedAt());
+        return byTime != 0 ? byTime < 0 : key.getId() < tombstone.getBookId();
+    }
+
+    /**
+     * Load the current state of the upserted books with one query
+     * A book deleted since its key was read is left out; its tombstone follows in a later page or sync
+     */
+    private void fillBooks(List<BookChange> changes) {
+        List<Long> ids = changes.stream()
+                .filter(change -> change.getType() == BookChange.Type.UPSERT)
+                .map(BookChange::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        
+        Map<Long, BookResponse> books = bookRepository.findResponsesByIdIn(ids).stream()
+                .collect(Collectors.toMap(BookResponse::getId, Function.identity()));
+        changes.removeIf(change -> {
+            if (change.getType() != BookChange.Type.UPSERT) {
+                return false;
+            }
+            change.setBook(books.get(change.getId()));
+            return change.getBook() == null;
+        });
+    }
+}
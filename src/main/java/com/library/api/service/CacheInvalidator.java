@@ -0,0 +1,58 @@
+package com.library.api.service;
+
+import com.library.api.config.CacheConfig;
+import com.library.api.dto.response.BookResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Evicts cached responses that depend on another entity
+ * (library book counts, library names embedded in book responses)
+ * Single-entry evictions by ID are handled with @CacheEvict/@CachePut on the services
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Evict a cached library response (e.g. when its book count changes)
+     */
+    public void evictLibrary(Long libraryId) {
+        cache(CacheConfig.LIBRARIES_CACHE).evict(libraryId);
+    }
+
+    /**
+     * Evict all cached book responses belonging to a library
+     * Needed when the library is renamed or deleted, since books embed the library name
+     */
+    public void evictBooksOfLibrary(Long libraryId) {
+        Cache cache = cache(CacheConfig.BOOKS_CACHE);
+        
+        @SuppressWarnings("unchecked")
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache =
+                (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache();
+        
+        List<Object> keys = nativeCache.asMap().entrySet().stream()
+                .filter(entry -> entry.getValue() instanceof BookResponse book
+                        && Objects.equals(book.getLibraryId(), libraryId))
+                .map(Map.Entry::getKey)
+                .toList();
+        
+        keys.forEach(cache::evict);
+        log.debug("Evicted {} cached books of library ID: {}", keys.size(), libraryId);
+    }
+
+    private Cache cache(String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), "Cache not configured: " + name);
+    }
+}
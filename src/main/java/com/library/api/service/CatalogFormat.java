@@ -0,0 +1,31 @@
+package com.library.api.service;
+
+import com.library.api.exception.BadRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Line-oriented formats supported for bulk catalog import and export
+ */
+@Getter
+@RequiredArgsConstructor
+public enum CatalogFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String fileExtension;
+
+    /**
+     * Parse a format request parameter (case-insensitive)
+     */
+    public static CatalogFormat fromParameter(String value) {
+        for (CatalogFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BadRequestException("Unsupported format: " + value + " (expected ndjson or csv)");
+    }
+}
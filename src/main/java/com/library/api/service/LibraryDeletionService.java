@@ -0,0 +1,21 @@
+package com.library.api.service;
+
+import com.library.api.dto.response.LibraryDeletionResponse;
+
+/**
+ * Service interface for deleting libraries together with their books
+ */
+public interface LibraryDeletionService {
+
+    /**
+     * Delete a library and all its books
+     * Small libraries are deleted before returning (status COMPLETED); above the configured
+     * size the deletion continues in the background (status RUNNING, see getDeletion)
+     */
+    LibraryDeletionResponse deleteLibrary(Long id);
+
+    /**
+     * Get the progress of a running or recently finished background deletion
+     */
+    LibraryDeletionResponse getDeletion(Long libraryId);
+}
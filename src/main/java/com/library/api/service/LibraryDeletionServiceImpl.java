@@ -0,0 +1,222 @@
+package com.library.api.service;
+
+import com.library.api.config.DatabaseAdmissionLimiter;
+import com.library.api.dto.response.ChangeEvent;
+import com.library.api.dto.response.LibraryDeletionResponse;
+import com.library.api.exception.ResourceNotFoundException;
+import com.library.api.feed.ChangeFeed;
+import com.library.api.index.BookFacetIndex;
+import com.library.api.index.BookSearchIndex;
+import com.library.api.index.IsbnIndex;
+import com.library.api.repository.BookIndexKey;
+import com.library.api.repository.BookRepository;
+import com.library.api.repository.BookTombstoneRepository;
+import com.library.api.repository.LibraryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of LibraryDeletionService
+ * Deletes with set-based statements instead of cascading through the persistence context:
+ * books are counted and unindexed from a projection query, and the library row is removed with
+ * one DELETE that the ON DELETE CASCADE foreign key extends to its books.
+ *
+ * Libraries with more than library.delete.async-threshold books are deleted in the background,
+ * library.delete.chunk-size books per transaction, so no single transaction holds locks for long
+ * and the indexes, caches and book counts catch up chunk by chunk.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LibraryDeletionServiceImpl extends BaseService implements LibraryDeletionService {
+
+    private final LibraryRepository libraryRepository;
+    private final BookRepository bookRepository;
+    private final BookTombstoneRepository bookTombstoneRepository;
+    private final CacheInvalidator cacheInvalidator;
+    private final ChangeFeed changeFeed;
+    private final IsbnIndex isbnIndex;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookFacetIndex bookFacetIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final DatabaseAdmissionLimiter databaseAdmissionLimiter;
+    private final AsyncTaskExecutor libraryDeletionExecutor; // See ExecutorConfig, by name
+
+    @Value("${library.delete.async-threshold}")
+    private long asyncThreshold;
+
+    @Value("${library.delete.chunk-size}")
+    private int chunkSize;
+
+    @Value("${library.delete.status-retention}")
+    private Duration statusRetention;
+
+    private final Map<Long, Deletion> deletions = new ConcurrentHashMap<>();
+
+    /**
+     * Progress of one background deletion
+     */
+    private static final class Deletion {
+
+        private final Long libraryId;
+        private final long totalBooks;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong deletedBooks = new AtomicLong();
+        private volatile LibraryDeletionResponse.Status status = LibraryDeletionResponse.Status.RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        Deletion(Long libraryId, long totalBooks) {
+            this.libraryId = libraryId;
+            this.totalBooks = totalBooks;
+        }
+
+        boolean isRunning() {
+            return status == LibraryDeletionResponse.Status.RUNNING;
+        }
+
+        void finish(LibraryDeletionResponse.Status status, String error) {
+            this.error = error;
+            this.finishedAt = LocalDateTime.now();
+            this.status = status;
+        }
+
+        LibraryDeletionResponse toResponse() {
+            return new LibraryDeletionResponse(libraryId, status, totalBooks, deletedBooks.get(),
+                    startedAt, finishedAt, error);
+        }
+    }
+
+    @Override
+    public LibraryDeletionResponse deleteLibrary(Long id) {
+        log.debug("Deleting library with ID: {}", id);
+        
+        Deletion running = deletions.get(id);
+        if (running != null && running.isRunning()) {
+            return running.toResponse();
+        }
+        
+        long bookCount = inTransaction(() -> {
+            ensureEntityExists(libraryRepository, id, "Library");
+            return bookRepository.countByLibraryId(id);
+        });
+        
+        if (bookCount <= asyncThreshold) {
+            LocalDateTime startedAt = LocalDateTime.now();
+            long deleted = inTransaction(() -> deleteLibraryRow(id));
+            log.info("Deleted library with ID: {} (cascade deleted {} books)", id, deleted);
+            return new LibraryDeletionResponse(id, LibraryDeletionResponse.Status.COMPLETED, bookCount, deleted,
+                    startedAt, LocalDateTime.now(), null);
+        }
+        
+        purgeFinished();
+        Deletion deletion = new Deletion(id, bookCount);
+        Deletion current = deletions.compute(id, (key, existing) ->
+                existing != null && existing.isRunning() ? existing : deletion);
+        if (current == deletion) {
+            libraryDeletionExecutor.execute(() -> runInBackground(deletion));
+        }
+        return current.toResponse();
+    }
+
+    @Override
+    public LibraryDeletionResponse getDeletion(Long libraryId) {
+        Deletion deletion = deletions.get(libraryId);
+        if (deletion == null) {
+            throw new ResourceNotFoundException("No deletion in progress for library with ID " + libraryId);
+        }
+        return deletion.toResponse();
+    }
+
+    private void runInBackground(Deletion deletion) {
+        long start = System.currentTimeMillis();
+        Long id = deletion.libraryId;
+        try {
+            int deleted;
+            do {
+                deleted = inTransaction(() -> deleteBookChunk(id));
+                deletion.deletedBooks.addAndGet(deleted);
+            } while (deleted == chunkSize);
+            // Books added meanwhile go with the library row
+            deletion.deletedBooks.addAndGet(inTransaction(() -> deleteLibraryRow(id)));
+            deletion.finish(LibraryDeletionResponse.Status.COMPLETED, null);
+            
+            log.info("Deleted library with ID: {} ({} books in chunks of {}) in {} ms", id,
+                    deletion.deletedBooks.get(), chunkSize, System.currentTimeMillis() - start);
+        } catch (RuntimeException ex) {
+            deletion.finish(LibraryDeletionResponse.Status.FAILED, ex.getMessage());
+            log.warn("Deleting library with ID: {} failed after {} books: {}", id, deletion.deletedBooks.get(),
+                    ex.getMessage());
+        }
+    }
+
+    /**
+     * Delete the next chunk of a library's books (in ID order)
+     */
+    private int deleteBookChunk(Long libraryId) {
+        List<BookIndexKey> books = bookRepository.findIndexKeysByLibraryId(libraryId, PageRequest.of(0, chunkSize));
+        if (!books.isEmpty()) {
+            List<Long> ids = books.stream().map(BookIndexKey::getId).toList();
+            unindexAfterCommit(libraryId, books);
+            bookTombstoneRepository.insertForBooks(ids, LocalDateTime.now());
+            bookRepository.deleteAllByIdInBulk(ids);
+            // The library's book count changed
+            cacheInvalidator.evictLibrary(libraryId);
+        }
+        return books.size();
+    }
+
+    /**
+     * Delete the library row; the foreign key cascade deletes its remaining books
+     *
+     * @return number of books deleted with it
+     */
+    private long deleteLibraryRow(Long libraryId) {
+        List<BookIndexKey> books = bookRepository.findIndexKeysByLibraryId(libraryId, Pageable.unpaged());
+        unindexAfterCommit(libraryId, books);
+        bookTombstoneRepository.insertForLibrary(libraryId, LocalDateTime.now());
+        libraryRepository.deleteByIdInBulk(libraryId);
+        cacheInvalidator.evictLibrary(libraryId);
+        // One event for the library; its books are not announced one by one
+        changeFeed.publishAfterCommit(ChangeEvent.Entity.LIBRARY, ChangeEvent.Action.DELETED, libraryId, null);
+        return books.size();
+    }
+
+    private void unindexAfterCommit(Long libraryId, List<BookIndexKey> books) {
+        isbnIndex.removeAllAfterCommit(books);
+        bookSearchIndex.removeAllAfterCommit(books.stream().map(BookIndexKey::getId).toList());
+        bookFacetIndex.removeAllAfterCommit(books.stream()
+                .map(book -> BookFacetIndex.FacetKey.of(book.getGenre(), libraryId, book.getPublicationDate()))
+                .toList());
+        // Cached book responses of the library (evicted on commit by the transaction-aware cache)
+        cacheInvalidator.evictBooksOfLibrary(libraryId);
+    }
+
+    /**
+     * Drop finished deletions once they are older than the status retention
+     */
+    private void purgeFinished() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(statusRetention);
+        deletions.values().removeIf(deletion -> !deletion.isRunning()
+                && Objects.requireNonNull(deletion.finishedAt).isBefore(cutoff));
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return databaseAdmissionLimiter.call(() -> transactionTemplate.execute(status -> work.get()));
+    }
+}
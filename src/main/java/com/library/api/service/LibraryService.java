@@ -1,12 +1,19 @@
 package com.library.api.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.library.api.dto.request.CreateLibraryRequest;
 import com.library.api.dto.request.UpdateLibraryRequest;
+import com.library.api.dto.response.BatchResponse;
 import com.library.api.dto.response.BookResponse;
 import com.library.api.dto.response.LibraryResponse;
 import com.library.api.dto.response.PageResponse;
+import com.library.api.repository.ResourceVersion;
+import com.library.api.util.FieldSelection;
+import com.library.api.util.KeysetCursor;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 /**
  * Service interface for Library business logic
  * Defines the contract for library operations
@@ -15,14 +22,32 @@ public interface LibraryService {
 
     /**
      * Get all libraries (paginated)
+     * When withTotal is false the count query is skipped and totals are omitted
+     * Book counts are only queried when totalBooks is selected
      */
-    PageResponse<LibraryResponse> getAllLibraries(Pageable pageable);
+    PageResponse<LibraryResponse> getAllLibraries(Pageable pageable, boolean withTotal, FieldSelection fields);
 
     /**
      * Get library by ID
      */
     LibraryResponse getLibraryById(Long id);
 
+    /**
+     * Get several libraries by ID (one query plus one grouped book count)
+     * Found libraries come back in the order of the IDs, unknown IDs are reported as missing
+     */
+    BatchResponse<LibraryResponse> getLibrariesByIds(List<Long> ids);
+
+    /**
+     * Get the version of the library list (for conditional GETs)
+     */
+    ResourceVersion getLibrariesVersion();
+
+    /**
+     * Get the version of a library without loading it (for conditional GETs)
+     */
+    ResourceVersion getLibraryVersion(Long id);
+
     /**
      * Create new library
      */
@@ -34,13 +59,26 @@ public interface LibraryService {
     LibraryResponse updateLibrary(Long id, UpdateLibraryRequest request);
 
     /**
-     * Delete library (cascade deletes all books)
+     * Partially update a library from a JSON merge patch
+     * Only the fields present in the patch are validated and written
      */
-    void deleteLibrary(Long id);
+    LibraryResponse patchLibrary(Long id, JsonNode patch);
 
     /**
      * Get all books for a specific library (paginated)
      * Demonstrates one-to-many relationship navigation
      */
-    PageResponse<BookResponse> getBooksByLibraryId(Long libraryId, Pageable pageable);
+    PageResponse<BookResponse> getBooksByLibraryId(Long libraryId, Pageable pageable, boolean withTotal,
+                                                   FieldSelection fields);
+
+    /**
+     * Get all books for a specific library (keyset pagination)
+     */
+    PageResponse<BookResponse> getBooksByLibraryId(Long libraryId, KeysetCursor cursor, int size,
+                                                   FieldSelection fields);
+
+    /**
+     * Get the version of all books of a library (for conditional GETs)
+     */
+    ResourceVersion getLibraryBooksVersion(Long libraryId);
 }
@@ -1,22 +1,47 @@
 package com.library.api.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.library.api.config.CacheConfig;
+import com.library.api.dto.request.BookFilter;
 import com.library.api.dto.request.CreateLibraryRequest;
 import com.library.api.dto.request.UpdateLibraryRequest;
+import com.library.api.dto.response.BatchResponse;
 import com.library.api.dto.response.BookResponse;
+import com.library.api.dto.response.ChangeEvent;
 import com.library.api.dto.response.LibraryResponse;
 import com.library.api.dto.response.PageResponse;
-import com.library.api.mapper.BookMapper;
+import com.library.api.exception.ResourceNotFoundException;
+import com.library.api.feed.ChangeFeed;
 import com.library.api.mapper.LibraryMapper;
+import com.library.api.mapper.MergePatchMapper;
+import com.library.api.model.Book;
 import com.library.api.model.Library;
 import com.library.api.repository.BookRepository;
+import com.library.api.repository.BookSpecifications;
+import com.library.api.repository.LibraryBookCount;
 import com.library.api.repository.LibraryRepository;
+import com.library.api.repository.ResourceVersion;
+import com.library.api.util.FieldSelection;
+import com.library.api.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 /**
  * Implementation of LibraryService
  * Extends BaseService for DRY validation logic
@@ -30,26 +55,66 @@ public class LibraryServiceImpl extends BaseService implements LibraryService {
     private final LibraryRepository libraryRepository;
     private final BookRepository bookRepository;
     private final LibraryMapper libraryMapper;
-    private final BookMapper bookMapper;
+    private final MergePatchMapper mergePatchMapper;
+    private final CacheInvalidator cacheInvalidator;
+    private final ChangeFeed changeFeed;
+
+    @Value("${library.batch.max-size}")
+    private int maxBatchSize;
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<LibraryResponse> getAllLibraries(Pageable pageable) {
+    public PageResponse<LibraryResponse> getAllLibraries(Pageable pageable, boolean withTotal, FieldSelection fields) {
         log.debug("Fetching all libraries with pagination: {}", pageable);
         
-        Page<LibraryResponse> responsePage = libraryRepository.findAll(pageable)
-                .map(libraryMapper::toResponse);
+        Slice<Library> libraryPage = withTotal
+                ? libraryRepository.findAll(pageable)
+                : libraryRepository.findSliceBy(pageable);
+        Map<Long, Long> bookCounts = fields.includes("totalBooks") ? countBooks(libraryPage.getContent()) : Map.of();
+        
+        Slice<LibraryResponse> responsePage = libraryPage
+                .map(library -> libraryMapper.toResponse(library, bookCounts.getOrDefault(library.getId(), 0L)));
         
         return PageResponse.of(responsePage);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.LIBRARIES_CACHE, key = "#id")
     public LibraryResponse getLibraryById(Long id) {
         log.debug("Fetching library with ID: {}", id);
         
         Library library = findByIdOrThrow(libraryRepository, id, "Library");
-        return libraryMapper.toResponse(library);
+        return libraryMapper.toResponse(library, getLibraryVersion(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BatchResponse<LibraryResponse> getLibrariesByIds(List<Long> ids) {
+        log.debug("Fetching {} libraries by ID", ids.size());
+        
+        Set<Long> distinctIds = distinctBatchIds(ids, maxBatchSize);
+        List<Library> libraries = libraryRepository.findAllById(distinctIds);
+        Map<Long, Long> bookCounts = countBooks(libraries);
+        
+        Map<Long, LibraryResponse> responses = libraries.stream()
+                .collect(Collectors.toMap(Library::getId,
+                        library -> libraryMapper.toResponse(library, bookCounts.getOrDefault(library.getId(), 0L))));
+        
+        return BatchResponse.of(distinctIds, responses);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getLibrariesVersion() {
+        return libraryRepository.findVersion();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getLibraryVersion(Long id) {
+        return libraryRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Library", id));
     }
 
     @Override
@@ -58,46 +123,101 @@ public class LibraryServiceImpl extends BaseService implements LibraryService {
         
         Library library = libraryMapper.toEntity(request);
         Library savedLibrary = libraryRepository.save(library);
+        changeFeed.publishAfterCommit(ChangeEvent.Entity.LIBRARY, ChangeEvent.Action.CREATED, savedLibrary.getId(), null);
         
         log.info("Created library with ID: {}", savedLibrary.getId());
-        return libraryMapper.toResponse(savedLibrary);
+        return libraryMapper.toResponse(savedLibrary, 0);
     }
 
     @Override
+    @CachePut(cacheNames = CacheConfig.LIBRARIES_CACHE, key = "#id")
     public LibraryResponse updateLibrary(Long id, UpdateLibraryRequest request) {
         log.debug("Updating library with ID: {}", id);
         
         Library library = findByIdOrThrow(libraryRepository, id, "Library");
+        return applyUpdate(library, request);
+    }
+
+    @Override
+    @CachePut(cacheNames = CacheConfig.LIBRARIES_CACHE, key = "#id")
+    public LibraryResponse patchLibrary(Long id, JsonNode patch) {
+        log.debug("Patching library with ID: {}", id);
+        
+        Library library = findByIdOrThrow(libraryRepository, id, "Library");
+        UpdateLibraryRequest request = mergePatchMapper.apply(libraryMapper.toUpdateRequest(library), patch);
+        return applyUpdate(library, request);
+    }
+
+    /**
+     * Apply the new state to a loaded library (only modified columns are written, see @DynamicUpdate)
+     */
+    private LibraryResponse applyUpdate(Library library, UpdateLibraryRequest request) {
+        Long id = library.getId();
+        
+        // Cached books embed the library name; delta sync has to report them as changed
+        if (!Objects.equals(library.getName(), request.getName())) {
+            cacheInvalidator.evictBooksOfLibrary(id);
+            bookRepository.touchByLibraryId(id, LocalDateTime.now());
+        }
         
         libraryMapper.updateEntity(library, request);
         Library updatedLibrary = libraryRepository.save(library);
+        changeFeed.publishAfterCommit(ChangeEvent.Entity.LIBRARY, ChangeEvent.Action.UPDATED, id, null);
         
         log.info("Updated library with ID: {}", id);
-        return libraryMapper.toResponse(updatedLibrary);
+        return libraryMapper.toResponse(updatedLibrary, getLibraryVersion(id));
     }
 
     @Override
-    public void deleteLibrary(Long id) {
-        log.debug("Deleting library with ID: {}", id);
+    @Transactional(readOnly = true)
+    public PageResponse<BookResponse> getBooksByLibraryId(Long libraryId, Pageable pageable, boolean withTotal,
+                                                          FieldSelection fields) {
+        log.debug("Fetching books for library ID: {}", libraryId);
         
-        Library library = findByIdOrThrow(libraryRepository, id, "Library");
+        ensureEntityExists(libraryRepository, libraryId, "Library");
         
-        libraryRepository.delete(library);
+        Slice<BookResponse> bookPage = bookRepository.findResponses(
+                inLibrary(libraryId), pageable, withTotal, fields);
         
-        log.info("Deleted library with ID: {} (cascade deleted {} books)", 
-                id, library.getBooks().size());
+        return PageResponse.of(bookPage);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<BookResponse> getBooksByLibraryId(Long libraryId, Pageable pageable) {
-        log.debug("Fetching books for library ID: {}", libraryId);
+    public PageResponse<BookResponse> getBooksByLibraryId(Long libraryId, KeysetCursor cursor, int size,
+                                                          FieldSelection fields) {
+        log.debug("Fetching books for library ID: {} with keyset pagination", libraryId);
         
         ensureEntityExists(libraryRepository, libraryId, "Library");
         
-        Page<BookResponse> bookPage = bookRepository.findByLibraryId(libraryId, pageable)
-                .map(bookMapper::toResponse);
+        Window<BookResponse> window = bookRepository.scrollResponses(
+                inLibrary(libraryId), cursor, size, fields);
         
-        return PageResponse.of(bookPage);
+        return PageResponse.of(window, size, cursor.isFirst(), cursor.next(window));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getLibraryBooksVersion(Long libraryId) {
+        ensureEntityExists(libraryRepository, libraryId, "Library");
+        
+        return bookRepository.findVersion(inLibrary(libraryId));
+    }
+
+    private static Specification<Book> inLibrary(Long libraryId) {
+        return BookSpecifications.matching(BookFilter.builder().libraryId(libraryId).build());
+    }
+
+    /**
+     * Private helper method to count books for a page of libraries in one grouped query
+     */
+    private Map<Long, Long> countBooks(List<Library> libraries) {
+        if (libraries.isEmpty()) {
+            return Map.of();
+        }
+        
+        List<Long> libraryIds = libraries.stream().map(Library::getId).toList();
+        return bookRepository.countByLibraryIds(libraryIds).stream()
+                .collect(Collectors.toMap(LibraryBookCount::getLibraryId, LibraryBookCount::getBookCount));
     }
 }
@@ -0,0 +1,115 @@
+package com.library.api.util;
+
+import com.library.api.repository.ResourceVersion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.function.Supplier;
+
+/**
+ * Helpers for conditional GETs (If-None-Match / If-Modified-Since)
+ */
+public class ConditionalRequests {
+
+    private static final String PAGE_ETAG_PREFIX = "W/\"p-";
+
+    private ConditionalRequests() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Check the request validators against a resource version
+     * Sets ETag and Last-Modified on the response either way; when this returns true
+     * the status is already 304 and the handler should return null without a body
+     */
+    public static boolean isNotModified(WebRequest request, ResourceVersion version) {
+        return request.checkNotModified(etag(version), lastModifiedMillis(version));
+    }
+
+    /**
+     * Same, with the version only looked up when the request carries If-None-Match or
+     * If-Modified-Since (see the ok methods for the validators of unconditional responses)
+     * A page digest ETag is checked against the built page instead, see {@link #ok(WebRequest, Object)}
+     */
+    public static boolean isNotModified(WebRequest request, Supplier<ResourceVersion> version) {
+        return isConditional(request) && !isPageRevalidation(request) && isNotModified(request, version.get());
+    }
+
+    /**
+     * Response for a collection checked with {@link #isNotModified(WebRequest, Supplier)}
+     * A request carrying the collection's validators already got them set; any other request is
+     * given a weak ETag digested from the page content, and a revalidation with that ETag is
+     * answered with 304 (return null) when the freshly built page has the same digest
+     */
+    public static <T> ResponseEntity<T> ok(WebRequest request, T body) {
+        if (isConditional(request) && !isPageRevalidation(request)) {
+            return ResponseEntity.ok(body);
+        }
+        if (request.checkNotModified(pageEtag(body))) {
+            return null;
+        }
+        return ResponseEntity.ok(body);
+    }
+
+    /**
+     * 200 response for a single resource checked with {@link #isNotModified(WebRequest, Supplier)}
+     * A conditional request already carries the validators from the version query; otherwise they
+     * are built from the version the (cached) response holds, without a query
+     */
+    public static <T> ResponseEntity<T> ok(WebRequest request, T body, LocalDateTime lastModified, long count) {
+        if (isConditional(request)) {
+            return ResponseEntity.ok(body);
+        }
+        ResourceVersion version = new ResourceVersion(lastModified, count);
+        return ResponseEntity.ok()
+                .eTag(etag(version))
+                .lastModified(lastModifiedMillis(version))
+                .body(body);
+    }
+
+    public static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    /**
+     * Weak ETag of a page: MD5 of its content (the DTOs' toString covers every field)
+     */
+    public static String pageEtag(Object body) {
+        return PAGE_ETAG_PREFIX + DigestUtils.md5DigestAsHex(body.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private static boolean isPageRevalidation(WebRequest request) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        return ifNoneMatch != null && ifNoneMatch.contains(PAGE_ETAG_PREFIX);
+    }
+
+    /**
+     * Strong ETag from the row count and the microsecond timestamp of the last change
+     */
+    public static String etag(ResourceVersion version) {
+        long micros = version.lastModified() != null
+                ? ChronoUnit.MICROS.between(Instant.EPOCH, toInstant(version))
+                : 0;
+        return "\"" + Long.toHexString(version.count()) + "-" + Long.toHexString(micros) + "\"";
+    }
+
+    /**
+     * Last-Modified in epoch milliseconds, -1 (no header) for an empty collection
+     */
+    public static long lastModifiedMillis(ResourceVersion version) {
+        return version.lastModified() != null ? toInstant(version).toEpochMilli() : -1;
+    }
+
+    private static Instant toInstant(ResourceVersion version) {
+        // updated_at is written in the JVM's local time
+        return version.lastModified().atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
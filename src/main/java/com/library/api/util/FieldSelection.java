@@ -0,0 +1,87 @@
+package com.library.api.util;
+
+import com.library.api.exception.BadRequestException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Sparse fieldset requested with the fields parameter (e.g. fields=id,title,author)
+ * The selection is kept as a request attribute, where FieldSelectionAdvice picks it up to
+ * serialize only the selected properties; services use it to narrow their queries.
+ */
+public final class FieldSelection {
+
+    /**
+     * Jackson filter ID on the response DTOs that support sparse fieldsets
+     */
+    public static final String FILTER = "fieldSelection";
+    public static final String ATTRIBUTE = FieldSelection.class.getName();
+
+    private static final FieldSelection ALL = new FieldSelection(null);
+
+    private final Set<String> fields;
+
+    private FieldSelection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * All fields (no fields parameter)
+     */
+    public static FieldSelection all() {
+        return ALL;
+    }
+
+    /**
+     * Parse and validate the fields parameter and register the selection for the response
+     * 
+     * @param fields Comma-separated field names, or null/blank for all fields
+     * @param available Fields of the response type
+     * @throws BadRequestException if a field is unknown or the list names no field (e.g. fields=,)
+     */
+    public static FieldSelection of(WebRequest request, String fields, Set<String> available) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        
+        Set<String> selected = new LinkedHashSet<>();
+        Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .forEach(selected::add);
+        if (selected.isEmpty()) {
+            throw new BadRequestException("fields must name at least one field, available fields: "
+                    + new TreeSet<>(available));
+        }
+        for (String field : selected) {
+            if (!available.contains(field)) {
+                throw new BadRequestException("Unknown field '" + field + "', available fields: "
+                        + new TreeSet<>(available));
+            }
+        }
+        
+        FieldSelection selection = new FieldSelection(Set.copyOf(selected));
+        request.setAttribute(ATTRIBUTE, selection, RequestAttributes.SCOPE_REQUEST);
+        return selection;
+    }
+
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    /**
+     * Selected field names (only meaningful when not {@link #isAll()})
+     */
+    public Set<String> getFields() {
+        return fields != null ? fields : Set.of();
+    }
+}
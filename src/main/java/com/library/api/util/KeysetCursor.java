@@ -0,0 +1,117 @@
+package com.library.api.util;
+
+import com.library.api.exception.BadRequestException;
+import lombok.Getter;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Opaque continuation token for keyset (seek) pagination
+ * Encodes the sort field, direction, last sort key and last id so the next page
+ * is read with WHERE (sortKey, id) > (:key, :id) instead of an OFFSET scan
+ */
+@Getter
+public class KeysetCursor {
+
+    /**
+     * Only non-null columns can be used as keys, otherwise rows would be skipped
+     */
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "isbn", "title", "author");
+    private static final String ID_FIELD = "id";
+    private static final String SEPARATOR = "|";
+
+    private final String sortField;
+    private final Sort.Direction direction;
+    private final ScrollPosition position;
+    private final boolean first;
+
+    private KeysetCursor(String sortField, Sort.Direction direction, ScrollPosition position, boolean first) {
+        if (!SORTABLE_FIELDS.contains(sortField)) {
+            throw new BadRequestException("Cursor pagination only supports sorting by " + SORTABLE_FIELDS);
+        }
+        this.sortField = sortField;
+        this.direction = direction;
+        this.position = position;
+        this.first = first;
+    }
+
+    /**
+     * Create a cursor from request parameters
+     * An empty token starts from the first page using the given sort parameter,
+     * otherwise the sort order is taken from the token itself
+     * 
+     * @param token Continuation token returned as nextCursor (may be empty)
+     * @param sort Sort parameter (format: "field,direction")
+     */
+    public static KeysetCursor of(String token, String sort) {
+        if (token == null || token.isBlank()) {
+            Sort.Order order = PaginationUtils.createSort(sort).iterator().next();
+            return new KeysetCursor(order.getProperty(), order.getDirection(), ScrollPosition.keyset(), true);
+        }
+        return decode(token);
+    }
+
+    /**
+     * Sort to apply to the keyset query - the sort field with id as tie-breaker
+     */
+    public Sort getSort() {
+        Sort sort = Sort.by(direction, sortField);
+        return ID_FIELD.equals(sortField) ? sort : sort.and(Sort.by(direction, ID_FIELD));
+    }
+
+    /**
+     * Build the token pointing after the last element of the window
+     * 
+     * @return the encoded token, or null when there are no more elements
+     */
+    public String next(Window<?> window) {
+        if (window.isEmpty() || !window.hasNext()) {
+            return null;
+        }
+        
+        KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+        Map<String, ?> keys = last.getKeys();
+        return encode(keys.get(sortField), keys.get(ID_FIELD));
+    }
+
+    private String encode(Object key, Object id) {
+        StringBuilder raw = new StringBuilder()
+                .append(direction.name()).append(SEPARATOR)
+                .append(sortField).append(SEPARATOR)
+                .append(id);
+        if (!ID_FIELD.equals(sortField)) {
+            raw.append(SEPARATOR).append(key);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The sort key comes last so it may itself contain the separator
+            String[] parts = raw.split("\\" + SEPARATOR, 4);
+            
+            Sort.Direction direction = Sort.Direction.valueOf(parts[0]);
+            String sortField = parts[1];
+            Long id = Long.valueOf(parts[2]);
+            
+            Map<String, Object> keys = new LinkedHashMap<>();
+            if (!ID_FIELD.equals(sortField)) {
+                keys.put(sortField, parts[3]);
+            }
+            keys.put(ID_FIELD, id);
+            return new KeysetCursor(sortField, direction, ScrollPosition.forward(keys), false);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+    }
+}
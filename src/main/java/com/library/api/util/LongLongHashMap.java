@@ -0,0 +1,244 @@
+package com.library.api.util;
+
+import java.util.Arrays;
+
+/**
+ * Primitive long -> long hash map with open addressing and linear probing
+ * Stores keys and values in two flat arrays, so there is no boxing and no
+ * per-entry object (16 bytes per slot, at most 75% load)
+ * 
+ * Key 0 is reserved as the empty-slot marker and cannot be stored.
+ * Not thread-safe - callers must synchronize access.
+ */
+public class LongLongHashMap {
+
+    private static final long EMPTY_KEY = 0L;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    public LongLongHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public LongLongHashMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Get the value for a key, or the given default when absent
+     */
+    public long get(long key, long defaultValue) {
+        checkKey(key);
+        int slot = findSlot(key);
+        return keys[slot] == key ? values[slot] : defaultValue;
+    }
+
+    public boolean containsKey(long key) {
+        checkKey(key);
+        return keys[findSlot(key)] == key;
+    }
+
+    /**
+     * Put a value, replacing any existing one
+     */
+    public void put(long key, long value) {
+        checkKey(key);
+        int slot = findSlot(key);
+        if (keys[slot] == key) {
+            values[slot] = value;
+            return;
+        }
+        insert(slot, key, value);
+    }
+
+    /**
+     * Put a value only if the key is absent
+     * 
+     * @return true if the value was stored
+     */
+    public boolean putIfAbsent(long key, long value) {
+        checkKey(key);
+        int slot = findSlot(key);
+        if (keys[slot] == key) {
+            return false;
+        }
+        insert(slot, key, value);
+        return true;
+    }
+
+    /**
+     * Add a delta to the value of a key (absent keys start at 0)
+     * 
+     * @return the new value
+     */
+    public long addTo(long key, long delta) {
+        checkKey(key);
+        int slot = findSlot(key);
+        if (keys[slot] == key) {
+            values[slot] += delta;
+            return values[slot];
+        }
+        insert(slot, key, delta);
+        return delta;
+    }
+
+    /**
+     * Remove a key
+     * 
+     * @return true if the key was present
+     */
+    public boolean remove(long key) {
+        checkKey(key);
+        int slot = findSlot(key);
+        if (keys[slot] != key) {
+            return false;
+        }
+        deleteSlot(slot);
+        return true;
+    }
+
+    /**
+     * Remove a key only if it is mapped to the given value
+     * 
+     * @return true if the entry was removed
+     */
+    public boolean remove(long key, long value) {
+        checkKey(key);
+        int slot = findSlot(key);
+        if (keys[slot] != key || values[slot] != value) {
+            return false;
+        }
+        deleteSlot(slot);
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY_KEY);
+        size = 0;
+    }
+
+    /**
+     * Visit every entry (iteration order is unspecified)
+     */
+    public void forEach(EntryConsumer consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY_KEY) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    /**
+     * Approximate heap footprint of the backing arrays in bytes
+     */
+    public long memoryUsage() {
+        return (long) keys.length * Long.BYTES * 2;
+    }
+
+    /**
+     * Primitive entry callback used by {@link #forEach(EntryConsumer)}
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, long value);
+    }
+
+    /**
+     * Find the slot holding the key, or the empty slot where it would be inserted
+     */
+    private int findSlot(long key) {
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY_KEY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void insert(int slot, long key, long value) {
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeThreshold) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * Backward-shift deletion keeps probe sequences intact without tombstones
+     */
+    private void deleteSlot(int slot) {
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (keys[next] != EMPTY_KEY) {
+            int home = hash(keys[next]) & mask;
+            // Move the entry into the gap if its home slot is not between gap and next (cyclically)
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY_KEY;
+        size--;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY_KEY) {
+                int slot = findSlot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        long capacity = Math.max(MIN_CAPACITY, (long) Math.ceil(expectedSize / LOAD_FACTOR));
+        if (capacity > 1 << 30) {
+            throw new IllegalArgumentException("Map too large: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) capacity - 1) << 1;
+    }
+
+    /**
+     * Murmur3 finalizer - spreads sequential keys across the table
+     */
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    private static void checkKey(long key) {
+        if (key == EMPTY_KEY) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+    }
+}
@@ -23,12 +23,22 @@ public class PaginationUtils {
      * @return Pageable object for Spring Data
      */
     public static Pageable createPageable(int page, int size, String sort) {
+        return PageRequest.of(page, size, createSort(sort));
+    }
+
+    /**
+     * Create Sort object from a sort parameter
+     * 
+     * @param sort Sort parameter (format: "field,direction")
+     * @return Sort object for Spring Data
+     */
+    public static Sort createSort(String sort) {
         String[] sortParams = sort.split(",");
         Sort.Direction direction = sortParams.length > 1 && sortParams[1].equalsIgnoreCase("desc")
                 ? Sort.Direction.DESC
                 : Sort.Direction.ASC;
         
         String sortField = sortParams[0];
-        return PageRequest.of(page, size, Sort.by(direction, sortField));
+        return Sort.by(direction, sortField);
     }
 }
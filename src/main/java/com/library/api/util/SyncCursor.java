@@ -0,0 +1,50 @@
+package com.library.api.util;
+
+import com.library.api.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for delta sync (GET /api/books/changes)
+ * Encodes the (changedAt, id) of the last returned change and the upper bound of the sync,
+ * so every page of one sync reads the same time window with
+ * WHERE changed_at >= :changedAt AND (changed_at > :changedAt OR id > :id) AND changed_at < :until
+ */
+public record SyncCursor(LocalDateTime changedAt, long id, LocalDateTime until) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Position of the first page: everything changed at or after since
+     */
+    public static SyncCursor first(LocalDateTime since, LocalDateTime until) {
+        return new SyncCursor(since, -1, until);
+    }
+
+    /**
+     * Position after the given change within the same window
+     */
+    public SyncCursor after(LocalDateTime changedAt, long id) {
+        return new SyncCursor(changedAt, id, until);
+    }
+
+    public String encode() {
+        String raw = changedAt + SEPARATOR + id + SEPARATOR + until;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SyncCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            return new SyncCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]),
+                    LocalDateTime.parse(parts[2]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new BadRequestException("Invalid sync cursor");
+        }
+    }
+}
@@ -2,6 +2,7 @@
 -- This file defines the database structure for the Library Management REST API
 
 -- Drop existing tables if they exist (for clean recreation)
+DROP TABLE IF EXISTS book_tombstone;
 DROP TABLE IF EXISTS book;
 DROP TABLE IF EXISTS library;
 
@@ -54,7 +55,23 @@ CREATE INDEX idx_book_title ON book(title);
 CREATE INDEX idx_book_author ON book(author);
 CREATE INDEX idx_book_isbn ON book(isbn);
 CREATE INDEX idx_book_publication_date ON book(publication_date);
+CREATE INDEX idx_book_acquisition_date ON book(acquisition_date);
 CREATE INDEX idx_book_library_id ON book(library_id);
+-- Delta sync (GET /api/books/changes) reads changed books in (updated_at, id) order
+CREATE INDEX idx_book_updated_at ON book(updated_at, id);
+
+-- ============================================================================
+-- BOOK_TOMBSTONE TABLE
+-- ============================================================================
+-- One row per deleted book, so delta sync can report deletes
+-- No foreign keys: the book (and possibly its library) no longer exist
+CREATE TABLE book_tombstone (
+    book_id BIGINT PRIMARY KEY,
+    library_id BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_book_tombstone_deleted_at ON book_tombstone(deleted_at, book_id);
 
 -- ============================================================================
 -- COMMENTS AND NOTES
@@ -0,0 +1,55 @@
+package com.library.api.perf;
+
+import com.library.api.dto.response.BookResponse;
+import com.library.api.model.Book;
+import com.library.api.model.Library;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic sample entities and DTOs shared by the JMH benchmarks
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static Library library(long id) {
+        Library library = new Library();
+        library.setId(id);
+        library.setName("Central City Library " + id);
+        library.setAddress(id + " Main Street, Dublin, Ireland");
+        library.setPhone("+353-1-123-4567");
+        library.setEmail("info" + id + "@centrallibrary.ie");
+        library.setEstablishedDate(LocalDate.of(1950, 1, 1).plusDays(id * 97));
+        return library;
+    }
+
+    static Book book(long id, Library library) {
+        Book book = new Book();
+        book.setId(id);
+        book.setIsbn(String.format("978%010d", id));
+        book.setTitle("The Remarkable History of Volume " + id);
+        book.setAuthor("Author Surname " + (id % 500));
+        book.setGenre(id % 3 == 0 ? "Science Fiction" : "Classic Fiction");
+        book.setPublicationDate(LocalDate.of(1900, 1, 1).plusDays(id * 13 % 40_000));
+        book.setAcquisitionDate(LocalDate.of(2000, 1, 1).plusDays(id * 7 % 9_000));
+        book.setPages(100 + (int) (id % 900));
+        book.setLibrary(library);
+        return book;
+    }
+
+    static List<BookResponse> bookResponses(int count) {
+        Library library = library(1);
+        List<BookResponse> responses = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Book book = book(i, library);
+            responses.add(new BookResponse(book.getId(), book.getIsbn(), book.getTitle(), book.getAuthor(),
+                    book.getGenre(), book.getPublicationDate(), book.getAcquisitionDate(), book.getPages(),
+                    library.getId(), library.getName(), null));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,359 @@
+package com.library.api.perf;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HTTP load generator with per-endpoint latency histograms
+ * Drives a weighted mix of book endpoints from virtual threads and reports throughput and
+ * p50/p90/p99/p99.9/max per endpoint.
+ *
+ * Arrival models:
+ * - closed: a fixed number of clients, each sending its next request when the previous one
+ *   returns (optionally paced to one request per load.pace-ms)
+ * - open: requests arrive at load.rate per second regardless of how fast the server answers
+ *
+ * Latency is measured from the intended start time (open model, or a paced closed model), so a
+ * stalled server is charged for the requests it delayed instead of hiding them (coordinated
+ * omission). An unpaced closed loop has no schedule and reports plain service time.
+ *
+ * Run with: mvn -Pperf compile exec:java -Dperf.main=com.library.api.perf.LoadGenerator
+ * Settings (system properties):
+ *   load.url       target base URL; empty starts the application in-process
+ *   load.model     closed (default) or open
+ *   load.clients   closed model: concurrent clients (64)
+ *   load.pace-ms   closed model: per-client request interval, 0 = back to back (0)
+ *   load.rate      open model: requests per second across all endpoints (200)
+ *   load.warmup    seconds before recording starts (10)
+ *   load.duration  recorded seconds (30)
+ *   load.mix       endpoint weights (list:40,get:30,dates:10,author:10,create:10)
+ *   load.seed      seed for the request mix (42)
+ */
+public final class LoadGenerator {
+
+    private static final Pattern FIRST_ID = Pattern.compile("\"id\":(\\d+)");
+    private static final String[] AUTHOR_FRAGMENTS = {"an", "er", "son", "lee", "king", "mar", "ell", "tol"};
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private LoadGenerator() {
+    }
+
+    enum Endpoint {
+        LIST("list", "GET /api/books"),
+        GET("get", "GET /api/books/{id}"),
+        DATES("dates", "GET /api/books/by-publication-date"),
+        AUTHOR("author", "GET /api/books?author="),
+        CREATE("create", "POST /api/books");
+
+        private final String key;
+        private final String label;
+
+        Endpoint(String key, String label) {
+            this.key = key;
+            this.label = label;
+        }
+
+        static Endpoint fromKey(String key) {
+            for (Endpoint endpoint : values()) {
+                if (endpoint.key.equals(key)) {
+                    return endpoint;
+                }
+            }
+            throw new IllegalArgumentException("Unknown endpoint '" + key + "' in load.mix");
+        }
+    }
+
+    /**
+     * Weighted endpoint choice parsed from "key:weight,key:weight"
+     */
+    record Mix(Endpoint[] endpoints, int[] cumulativeWeights) {
+
+        static Mix parse(String spec) {
+            List<Endpoint> endpoints = new ArrayList<>();
+            List<Integer> cumulative = new ArrayList<>();
+            int total = 0;
+            for (String part : spec.split(",")) {
+                String[] keyWeight = part.trim().split(":");
+                int weight = Integer.parseInt(keyWeight[1].trim());
+                if (weight > 0) {
+                    total += weight;
+                    endpoints.add(Endpoint.fromKey(keyWeight[0].trim()));
+                    cumulative.add(total);
+                }
+            }
+            if (endpoints.isEmpty()) {
+                throw new IllegalArgumentException("load.mix has no endpoint with a positive weight");
+            }
+            return new Mix(endpoints.toArray(Endpoint[]::new), cumulative.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        Endpoint pick(SplittableRandom random) {
+            int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            int index = 0;
+            while (value >= cumulativeWeights[index]) {
+                index++;
+            }
+            return endpoints[index];
+        }
+    }
+
+    /**
+     * Recorded results of one endpoint
+     */
+    static final class EndpointStats {
+
+        private final Recorder recorder = new Recorder(3);
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+    }
+
+    /**
+     * The server under load and what the request builders need to know about its data
+     */
+    record Target(String baseUrl, long maxBookId, long maxLibraryId, AtomicLong isbnSequence) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("load.url", "");
+        String model = System.getProperty("load.model", "closed");
+        Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup", 10));
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 30));
+        Mix mix = Mix.parse(System.getProperty("load.mix", "list:40,get:30,dates:10,author:10,create:10"));
+        long seed = Long.getLong("load.seed", 42);
+
+        ConfigurableApplicationContext context = url.isEmpty() ? PerfApplication.start() : null;
+        String baseUrl = context != null ? PerfApplication.baseUrl(context) : url;
+
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build()) {
+
+            Target target = new Target(baseUrl,
+                    discoverMaxId(client, baseUrl + "/api/books?size=1&sort=id,desc"),
+                    discoverMaxId(client, baseUrl + "/api/libraries?size=1&sort=id,desc"),
+                    new AtomicLong(System.currentTimeMillis() / 1000 % 1_000_000 * 1000));
+
+            Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+            for (Endpoint endpoint : Endpoint.values()) {
+                stats.put(endpoint, new EndpointStats());
+            }
+
+            long measureFrom = System.nanoTime() + warmup.toNanos();
+            long stopAt = measureFrom + duration.toNanos();
+            String description;
+
+            try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+                if ("open".equals(model)) {
+                    int rate = Integer.getInteger("load.rate", 200);
+                    description = String.format("open model, %d req/s", rate);
+                    runOpen(client, target, mix, seed, rate, measureFrom, stopAt, stats, workers);
+                } else if ("closed".equals(model)) {
+                    int clients = Integer.getInteger("load.clients", 64);
+                    long paceNanos = TimeUnit.MILLISECONDS.toNanos(Long.getLong("load.pace-ms", 0));
+                    description = String.format("closed model, %d clients%s", clients,
+                            paceNanos > 0 ? ", one request per " + Long.getLong("load.pace-ms") + " ms each" : "");
+                    for (int i = 0; i < clients; i++) {
+                        SplittableRandom random = new SplittableRandom(seed + i);
+                        workers.submit(() -> runClosedClient(client, target, mix, random, paceNanos,
+                                measureFrom, stopAt, stats));
+                    }
+                } else {
+                    throw new IllegalArgumentException("load.model must be closed or open, was " + model);
+                }
+                workers.shutdown();
+                if (!workers.awaitTermination(warmup.plus(duration).plus(REQUEST_TIMEOUT).toSeconds(), TimeUnit.SECONDS)) {
+                    workers.shutdownNow();
+                }
+            }
+
+            report(baseUrl, description, duration, stats);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static void runOpen(HttpClient client, Target target, Mix mix, long seed, int rate,
+                                long measureFrom, long stopAt, Map<Endpoint, EndpointStats> stats,
+                                ExecutorService workers) {
+
+        SplittableRandom random = new SplittableRandom(seed);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+
+        for (long i = 0; ; i++) {
+            long intendedStart = start + i * intervalNanos;
+            if (intendedStart >= stopAt) {
+                return;
+            }
+            parkUntil(intendedStart);
+
+            Endpoint endpoint = mix.pick(random);
+            HttpRequest request = buildRequest(endpoint, target, random);
+            workers.submit(() -> execute(client, endpoint, request, intendedStart, measureFrom, stopAt, stats));
+        }
+    }
+
+    private static void runClosedClient(HttpClient client, Target target, Mix mix, SplittableRandom random,
+                                        long paceNanos, long measureFrom, long stopAt,
+                                        Map<Endpoint, EndpointStats> stats) {
+
+        long nextStart = System.nanoTime();
+        while (true) {
+            long intendedStart = paceNanos > 0 ? nextStart : System.nanoTime();
+            if (intendedStart >= stopAt) {
+                return;
+            }
+            parkUntil(intendedStart);
+
+            Endpoint endpoint = mix.pick(random);
+            execute(client, endpoint, buildRequest(endpoint, target, random), intendedStart, measureFrom, stopAt, stats);
+            // A late response does not shift the schedule, the next requests are charged for the wait
+            nextStart += paceNanos;
+        }
+    }
+
+    private static void execute(HttpClient client, Endpoint endpoint, HttpRequest request, long intendedStart,
+                                long measureFrom, long stopAt, Map<Endpoint, EndpointStats> stats) {
+
+        boolean ok;
+        try {
+            ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception ex) {
+            ok = false;
+        }
+        long latency = System.nanoTime() - intendedStart;
+
+        if (intendedStart >= measureFrom && intendedStart < stopAt) {
+            EndpointStats endpointStats = stats.get(endpoint);
+            endpointStats.recorder.recordValue(latency);
+            endpointStats.requests.increment();
+            if (!ok) {
+                endpointStats.errors.increment();
+            }
+        }
+    }
+
+    private static HttpRequest buildRequest(Endpoint endpoint, Target target, SplittableRandom random) {
+        String baseUrl = target.baseUrl();
+        HttpRequest.Builder builder = switch (endpoint) {
+            case LIST -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/books?page=" + random.nextInt(10)
+                    + "&size=20&sort=" + (random.nextBoolean() ? "title,asc" : "id,desc")));
+            case GET -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/books/"
+                    + (1 + random.nextLong(target.maxBookId()))));
+            case DATES -> {
+                int from = 1800 + random.nextInt(200);
+                yield HttpRequest.newBuilder(URI.create(baseUrl + "/api/books/by-publication-date?startDate="
+                        + from + "-01-01&endDate=" + (from + 10) + "-12-31&size=20"));
+            }
+            case AUTHOR -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/books?size=20&author="
+                    + AUTHOR_FRAGMENTS[random.nextInt(AUTHOR_FRAGMENTS.length)]));
+            case CREATE -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/books"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(createBody(target, random)));
+        };
+        return builder.timeout(REQUEST_TIMEOUT).build();
+    }
+
+    private static String createBody(Target target, SplittableRandom random) {
+        long sequence = target.isbnSequence().incrementAndGet();
+        return String.format(Locale.ROOT, """
+                {"isbn":"%s","title":"Load Test Volume %d","author":"Load Tester %d","genre":"Benchmark",\
+                "publicationDate":"%d-06-15","acquisitionDate":"2020-01-15","pages":%d,"libraryId":%d}""",
+                isbn13("979" + String.format("%09d", sequence % 1_000_000_000)), sequence, random.nextInt(100),
+                1900 + random.nextInt(120), 50 + random.nextInt(900), 1 + random.nextLong(target.maxLibraryId()));
+    }
+
+    /**
+     * Append the ISBN-13 check digit to a 12 digit prefix
+     */
+    static String isbn13(String prefix) {
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            sum += (prefix.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        return prefix + (10 - sum % 10) % 10;
+    }
+
+    private static long discoverMaxId(HttpClient client, String url) throws Exception {
+        String body = client.send(HttpRequest.newBuilder(URI.create(url)).build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+        Matcher matcher = FIRST_ID.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("No data found at " + url);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static void report(String baseUrl, String description, Duration duration,
+                               Map<Endpoint, EndpointStats> stats) {
+
+        double seconds = duration.toNanos() / 1e9;
+        System.out.printf("%n%s - %s, %ds measured%n", baseUrl, description, duration.toSeconds());
+        System.out.printf("%-36s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        Histogram all = new Histogram(3);
+        long allRequests = 0;
+        long allErrors = 0;
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            long requests = endpointStats.requests.sum();
+            if (requests == 0) {
+                continue;
+            }
+            Histogram histogram = endpointStats.recorder.getIntervalHistogram();
+            all.add(histogram);
+            allRequests += requests;
+            allErrors += endpointStats.errors.sum();
+            printRow(entry.getKey().label, requests, endpointStats.errors.sum(), seconds, histogram);
+        }
+        printRow("all", allRequests, allErrors, seconds, all);
+    }
+
+    private static void printRow(String label, long requests, long errors, double seconds, Histogram histogram) {
+        System.out.printf("%-36s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                label, requests, errors, requests / seconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
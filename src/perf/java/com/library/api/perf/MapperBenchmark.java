@@ -0,0 +1,54 @@
+package com.library.api.perf;
+
+import com.library.api.dto.response.BookResponse;
+import com.library.api.dto.response.LibraryResponse;
+import com.library.api.mapper.BookMapper;
+import com.library.api.mapper.LibraryMapper;
+import com.library.api.model.Book;
+import com.library.api.model.Library;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response DTO mapping (BookMapper.toResponse, LibraryMapper.toResponse)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final BookMapper bookMapper = new BookMapper();
+    private final LibraryMapper libraryMapper = new LibraryMapper();
+
+    private Library library;
+    private Book book;
+
+    @Setup
+    public void setUp() {
+        library = Fixtures.library(1);
+        book = Fixtures.book(42, library);
+    }
+
+    @Benchmark
+    public BookResponse bookToResponse() {
+        return bookMapper.toResponse(book);
+    }
+
+    @Benchmark
+    public LibraryResponse libraryToResponse() {
+        return libraryMapper.toResponse(library, 1234);
+    }
+}
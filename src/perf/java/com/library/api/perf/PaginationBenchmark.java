@@ -0,0 +1,69 @@
+package com.library.api.perf;
+
+import com.library.api.dto.response.BookResponse;
+import com.library.api.dto.response.PageResponse;
+import com.library.api.util.PaginationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request pagination work: parsing page/size/sort parameters and wrapping results in PageResponse
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaginationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    private String sort;
+    private Page<BookResponse> page;
+    private Slice<BookResponse> slice;
+
+    @Setup
+    public void setUp() {
+        // Built per trial so the sort string is not a compile-time constant
+        sort = new StringBuilder("title").append(",desc").toString();
+        
+        List<BookResponse> content = Fixtures.bookResponses(pageSize);
+        Pageable pageable = PaginationUtils.createPageable(3, pageSize, "title,asc");
+        page = new PageImpl<>(content, pageable, 100_000);
+        slice = new SliceImpl<>(content, pageable, true);
+    }
+
+    @Benchmark
+    public Pageable createPageable() {
+        return PaginationUtils.createPageable(3, pageSize, sort);
+    }
+
+    @Benchmark
+    public PageResponse<BookResponse> pageResponseOfPage() {
+        return PageResponse.of(page);
+    }
+
+    @Benchmark
+    public PageResponse<BookResponse> pageResponseOfSlice() {
+        return PageResponse.of(slice);
+    }
+}
@@ -0,0 +1,40 @@
+package com.library.api.perf;
+
+import com.library.api.LibraryManagementApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application in-process for the load tools (random port, quiet logging)
+ */
+final class PerfApplication {
+
+    private PerfApplication() {
+    }
+
+    /**
+     * @param overrides additional properties as name=value
+     */
+    static ConfigurableApplicationContext start(String... overrides) {
+        // Passed as command line arguments so they override application.properties
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.devtools.restart.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.library.api=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.hibernate.SQL=WARN"));
+        for (String override : overrides) {
+            args.add("--" + override);
+        }
+        return new SpringApplicationBuilder(LibraryManagementApplication.class).run(args.toArray(String[]::new));
+    }
+
+    static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+}
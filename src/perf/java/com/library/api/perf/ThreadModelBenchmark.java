@@ -0,0 +1,128 @@
+package com.library.api.perf;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Side-by-side benchmark of platform vs. virtual request threads on BookController reads
+ * Starts the application once per mode (same JVM, random port, quiet logging) and drives it
+ * with a closed loop of concurrent clients mixing GET /api/books pages and GET /api/books/{id}.
+ *
+ * Run with: mvn -Pperf compile exec:java -Dperf.main=com.library.api.perf.ThreadModelBenchmark
+ * Tuning (system properties): bench.clients (400), bench.warmup seconds (5), bench.duration seconds (20)
+ */
+public final class ThreadModelBenchmark {
+
+    private static final int BOOK_ID_RANGE = 39;
+    private static final int PAGE_RANGE = 4;
+
+    private ThreadModelBenchmark() {
+    }
+
+    record Result(String mode, long requests, long errors, double seconds, Histogram latency) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("bench.clients", 400);
+        Duration warmup = Duration.ofSeconds(Long.getLong("bench.warmup", 5));
+        Duration duration = Duration.ofSeconds(Long.getLong("bench.duration", 20));
+        
+        List<Result> results = new ArrayList<>();
+        results.add(run("platform", false, clients, warmup, duration));
+        results.add(run("virtual", true, clients, warmup, duration));
+        
+        System.out.printf("%nBookController reads, %d concurrent clients, %ds measured%n", clients, duration.toSeconds());
+        System.out.printf("%-9s %10s %8s %10s %9s %9s %9s %9s%n",
+                "threads", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Result result : results) {
+            Histogram latency = result.latency();
+            System.out.printf("%-9s %10d %8d %10.0f %9.2f %9.2f %9.2f %9.2f%n",
+                    result.mode(), result.requests(), result.errors(), result.requests() / result.seconds(),
+                    millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(99)),
+                    millis(latency.getValueAtPercentile(99.9)), millis(latency.getMaxValue()));
+        }
+    }
+
+    private static Result run(String mode, boolean virtualThreads, int clients, Duration warmup, Duration duration)
+            throws InterruptedException {
+        
+        try (ConfigurableApplicationContext context =
+                     PerfApplication.start("spring.threads.virtual.enabled=" + virtualThreads)) {
+            String baseUrl = PerfApplication.baseUrl(context);
+            System.out.printf("Running %s threads against %s%n", mode, baseUrl);
+            
+            Recorder recorder = new Recorder(3);
+            AtomicLong requests = new AtomicLong();
+            AtomicLong errors = new AtomicLong();
+            long measureFrom = System.nanoTime() + warmup.toNanos();
+            long stopAt = measureFrom + duration.toNanos();
+            
+            // Clients are virtual threads in both modes, so only the server side differs
+            try (HttpClient client = HttpClient.newBuilder()
+                         .version(HttpClient.Version.HTTP_1_1)
+                         .executor(Executors.newVirtualThreadPerTaskExecutor())
+                         .build();
+                 ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+                
+                for (int i = 0; i < clients; i++) {
+                    workers.submit(() -> drive(client, baseUrl, measureFrom, stopAt, recorder, requests, errors));
+                }
+                workers.shutdown();
+                workers.awaitTermination(warmup.plus(duration).toSeconds() + 60, TimeUnit.SECONDS);
+            }
+            
+            double seconds = duration.toNanos() / 1e9;
+            return new Result(mode, requests.get(), errors.get(), seconds, recorder.getIntervalHistogram());
+        }
+    }
+
+    private static void drive(HttpClient client, String baseUrl, long measureFrom, long stopAt,
+                              Recorder recorder, AtomicLong requests, AtomicLong errors) {
+        
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            String path = random.nextBoolean()
+                    ? "/api/books?page=" + random.nextInt(PAGE_RANGE) + "&size=10&sort=title,asc"
+                    : "/api/books/" + (1 + random.nextInt(BOOK_ID_RANGE));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+            
+            long start = System.nanoTime();
+            if (start >= stopAt) {
+                return;
+            }
+            boolean ok;
+            try {
+                ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 500;
+            } catch (Exception ex) {
+                ok = false;
+            }
+            long end = System.nanoTime();
+            
+            if (start >= measureFrom && end <= stopAt) {
+                recorder.recordValue(end - start);
+                requests.incrementAndGet();
+                if (!ok) {
+                    errors.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
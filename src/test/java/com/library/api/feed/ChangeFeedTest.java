@@ -0,0 +1,132 @@
+package com.library.api.feed;
+
+import com.library.api.dto.response.ChangeEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeFeedTest {
+
+    private static final Duration NO_WAIT = Duration.ZERO;
+
+    private final ChangeFeed feed = new ChangeFeed(4);
+
+    @Test
+    void readsEventsAfterPosition() throws InterruptedException {
+        long start = feed.lastSequence();
+        publish(1L, 2L, 3L);
+
+        ChangeFeed.Batch batch = feed.read(start, 10, NO_WAIT);
+
+        assertThat(batch.gap()).isFalse();
+        assertThat(ids(batch)).containsExactly(1L, 2L, 3L);
+        assertThat(batch.position()).isEqualTo(start + 3);
+        assertThat(batch.events().getLast().getSeq()).isEqualTo(batch.position());
+    }
+
+    @Test
+    void readsAtMostMaxEvents() throws InterruptedException {
+        long start = feed.lastSequence();
+        publish(1L, 2L, 3L);
+
+        ChangeFeed.Batch first = feed.read(start, 2, NO_WAIT);
+        ChangeFeed.Batch second = feed.read(first.position(), 2, NO_WAIT);
+
+        assertThat(ids(first)).containsExactly(1L, 2L);
+        assertThat(ids(second)).containsExactly(3L);
+        assertThat(second.gap()).isFalse();
+    }
+
+    @Test
+    void caughtUpReaderGetsEmptyBatchWithoutGap() throws InterruptedException {
+        publish(1L);
+
+        ChangeFeed.Batch batch = feed.read(feed.lastSequence(), 10, NO_WAIT);
+
+        assertThat(batch.events()).isEmpty();
+        assertThat(batch.gap()).isFalse();
+        assertThat(batch.position()).isEqualTo(feed.lastSequence());
+    }
+
+    @Test
+    void overwrittenEventsReportGapAndResumeAtOldest() throws InterruptedException {
+        long start = feed.lastSequence();
+        publish(1L, 2L, 3L, 4L, 5L, 6L);
+
+        ChangeFeed.Batch batch = feed.read(start, 10, NO_WAIT);
+
+        assertThat(batch.gap()).isTrue();
+        assertThat(ids(batch)).containsExactly(3L, 4L, 5L, 6L);
+        assertThat(batch.position()).isEqualTo(feed.lastSequence());
+    }
+
+    @Test
+    void slotsWrapAroundTheRing() throws InterruptedException {
+        long position = feed.lastSequence();
+        for (long id = 1; id <= 10; id++) {
+            publish(id);
+            ChangeFeed.Batch batch = feed.read(position, 10, NO_WAIT);
+            assertThat(batch.gap()).isFalse();
+            assertThat(ids(batch)).containsExactly(id);
+            position = batch.position();
+        }
+    }
+
+    @Test
+    void resumingFromEarlierRunOnEmptyFeedMovesPositionSoNextReadWaits() throws InterruptedException {
+        long previousRun = feed.lastSequence() - 1_000_000;
+
+        ChangeFeed.Batch batch = feed.read(previousRun, 10, NO_WAIT);
+
+        assertThat(batch.gap()).isTrue();
+        assertThat(batch.events()).isEmpty();
+        assertThat(batch.position()).isEqualTo(feed.lastSequence());
+
+        ChangeFeed.Batch next = feed.read(batch.position(), 10, NO_WAIT);
+        assertThat(next.gap()).isFalse();
+        assertThat(next.events()).isEmpty();
+    }
+
+    @Test
+    void positionAheadOfFeedIsTreatedAsGap() throws InterruptedException {
+        long start = feed.lastSequence();
+        publish(1L, 2L);
+
+        ChangeFeed.Batch batch = feed.read(start + 100, 10, NO_WAIT);
+
+        assertThat(batch.gap()).isTrue();
+        assertThat(ids(batch)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void waitingReaderWakesOnAppend() throws InterruptedException {
+        long start = feed.lastSequence();
+        Thread writer = Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            publish(7L);
+        });
+
+        ChangeFeed.Batch batch = feed.read(start, 10, Duration.ofSeconds(5));
+        writer.join();
+
+        assertThat(ids(batch)).containsExactly(7L);
+    }
+
+    private void publish(Long... ids) {
+        // No transaction is active, so events are appended immediately
+        for (Long id : ids) {
+            feed.publishAfterCommit(ChangeEvent.Entity.BOOK, ChangeEvent.Action.UPDATED, id, 1L);
+        }
+    }
+
+    private static List<Long> ids(ChangeFeed.Batch batch) {
+        return batch.events().stream().map(ChangeEvent::getId).toList();
+    }
+}
@@ -0,0 +1,112 @@
+package com.library.api.index;
+
+import com.library.api.exception.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookSearchIndexTest {
+
+    private final BookSearchIndex index = new BookSearchIndex();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "minSimilarity", 0.5);
+        ReflectionTestUtils.setField(index, "maxResults", 100);
+    }
+
+    @Test
+    void normalizesCaseAccentsAndPunctuation() {
+        assertThat(BookSearchIndex.normalize("  Les Misérables -- Victor HUGO!")).isEqualTo("les miserables victor hugo");
+        assertThat(BookSearchIndex.normalize(null)).isEmpty();
+    }
+
+    @Test
+    void trigramsArePaddedPerWordAndDistinct() {
+        assertThat(BookSearchIndex.trigrams("lee")).hasSize(3);
+        assertThat(BookSearchIndex.trigrams("ab ab")).hasSize(2);
+        assertThat(BookSearchIndex.trigrams("")).isEmpty();
+    }
+
+    @Test
+    void ranksPhraseMatchesAndCloserTextsFirst() {
+        index.indexAfterCommit(1, "The Great Gatsby", "F. Scott Fitzgerald");
+        index.indexAfterCommit(2, "Great Expectations", "Charles Dickens");
+        index.indexAfterCommit(3, "Gatsby", "Unknown");
+        index.indexAfterCommit(4, "Moby Dick", "Herman Melville");
+
+        BookSearchIndex.SearchResult result = index.search("gatsby", 0, 10);
+
+        assertThat(result.bookIds()).containsExactly(3L, 1L);
+        assertThat(result.total()).isEqualTo(2);
+    }
+
+    @Test
+    void toleratesTypos() {
+        index.indexAfterCommit(1, "Pride and Prejudice", "Jane Austen");
+        index.indexAfterCommit(2, "Moby Dick", "Herman Melville");
+
+        assertThat(index.search("prejudise", 0, 10).bookIds()).containsExactly(1L);
+    }
+
+    @Test
+    void pagesThroughRankedResultsWithStableTieBreak() {
+        for (long id = 1; id <= 5; id++) {
+            index.indexAfterCommit(id, "Dune", "Frank Herbert");
+        }
+
+        BookSearchIndex.SearchResult first = index.search("dune", 0, 2);
+        BookSearchIndex.SearchResult second = index.search("dune", 2, 2);
+        BookSearchIndex.SearchResult last = index.search("dune", 4, 2);
+
+        assertThat(first.bookIds()).containsExactly(1L, 2L);
+        assertThat(second.bookIds()).containsExactly(3L, 4L);
+        assertThat(last.bookIds()).containsExactly(5L);
+        assertThat(last.total()).isEqualTo(5);
+    }
+
+    @Test
+    void offsetBeyondMatchesReturnsEmptyPageWithTotal() {
+        index.indexAfterCommit(1, "Dune", "Frank Herbert");
+
+        BookSearchIndex.SearchResult result = index.search("dune", 50, 10);
+
+        assertThat(result.bookIds()).isEmpty();
+        assertThat(result.total()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsPagesBeyondMaxResults() {
+        index.indexAfterCommit(1, "Dune", "Frank Herbert");
+
+        assertThatThrownBy(() -> index.search("dune", 95, 10)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> index.search("dune", 3_000_000_000L, 10)).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void rejectsQueriesWithoutLettersOrDigits() {
+        assertThatThrownBy(() -> index.search("?!", 0, 10)).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void reindexAndRemoveUpdatePostings() {
+        index.indexAfterCommit(1, "Dune", "Frank Herbert");
+        index.indexAfterCommit(2, "Emma", "Jane Austen");
+
+        index.indexAfterCommit(1, "Persuasion", "Jane Austen");
+        assertThat(index.search("dune", 0, 10).bookIds()).isEmpty();
+        assertThat(index.search("austen", 0, 10).bookIds()).containsExactlyInAnyOrder(1L, 2L);
+
+        index.removeAfterCommit(2);
+        assertThat(index.search("austen", 0, 10).bookIds()).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+
+        // A freed ordinal is reused without leaking the old document's postings
+        index.indexAfterCommit(3, "Dune Messiah", "Frank Herbert");
+        assertThat(index.search("dune", 0, 10).bookIds()).containsExactly(3L);
+        assertThat(index.search("emma", 0, 10).bookIds()).isEmpty();
+    }
+}
@@ -0,0 +1,80 @@
+package com.library.api.util;
+
+import com.library.api.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void emptyTokenStartsAtFirstPageWithRequestedSort() {
+        KeysetCursor cursor = KeysetCursor.of("", "title,desc");
+
+        assertThat(cursor.isFirst()).isTrue();
+        assertThat(cursor.getSortField()).isEqualTo("title");
+        assertThat(cursor.getDirection()).isEqualTo(Sort.Direction.DESC);
+        assertThat(cursor.getSort()).containsExactly(Sort.Order.desc("title"), Sort.Order.desc("id"));
+    }
+
+    @Test
+    void nextTokenRoundTripsSortAndLastKeys() {
+        KeysetCursor cursor = KeysetCursor.of(null, "title,asc");
+
+        String token = cursor.next(window(true, "A|B Title", 42L));
+        KeysetCursor decoded = KeysetCursor.of(token, "ignored,desc");
+
+        assertThat(decoded.isFirst()).isFalse();
+        assertThat(decoded.getSortField()).isEqualTo("title");
+        assertThat(decoded.getDirection()).isEqualTo(Sort.Direction.ASC);
+        KeysetScrollPosition position = (KeysetScrollPosition) decoded.getPosition();
+        assertThat(position.getKeys()).containsEntry("title", "A|B Title").containsEntry("id", 42L);
+    }
+
+    @Test
+    void idSortEncodesOnlyTheId() {
+        KeysetCursor cursor = KeysetCursor.of(null, "id,asc");
+
+        KeysetCursor decoded = KeysetCursor.of(cursor.next(window(true, null, 7L)), null);
+
+        assertThat(decoded.getSort()).containsExactly(Sort.Order.asc("id"));
+        assertThat(((KeysetScrollPosition) decoded.getPosition()).getKeys()).containsOnlyKeys("id");
+    }
+
+    @Test
+    void lastPageHasNoNextToken() {
+        KeysetCursor cursor = KeysetCursor.of(null, "title,asc");
+
+        assertThat(cursor.next(window(false, "Z", 9L))).isNull();
+        assertThat(cursor.next(Window.from(List.of(), index -> ScrollPosition.keyset()))).isNull();
+    }
+
+    @Test
+    void rejectsUnsortableFields() {
+        assertThatThrownBy(() -> KeysetCursor.of(null, "genre,asc")).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThatThrownBy(() -> KeysetCursor.of("not base64!", null)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> KeysetCursor.of("QVNDfHRpdGxl", null)).isInstanceOf(BadRequestException.class);
+    }
+
+    private static Window<Object> window(boolean hasNext, String title, Long id) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        if (title != null) {
+            keys.put("title", title);
+        }
+        keys.put("id", id);
+        return Window.from(List.of(new Object()), index -> ScrollPosition.forward(keys), hasNext);
+    }
+}
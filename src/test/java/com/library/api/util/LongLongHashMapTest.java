@@ -0,0 +1,111 @@
+package com.library.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongLongHashMapTest {
+
+    @Test
+    void putGetAndReplace() {
+        LongLongHashMap map = new LongLongHashMap();
+
+        map.put(7, 70);
+        map.put(7, 71);
+
+        assertThat(map.get(7, -1)).isEqualTo(71);
+        assertThat(map.get(8, -1)).isEqualTo(-1);
+        assertThat(map.containsKey(7)).isTrue();
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void putIfAbsentKeepsExistingValue() {
+        LongLongHashMap map = new LongLongHashMap();
+
+        assertThat(map.putIfAbsent(3, 30)).isTrue();
+        assertThat(map.putIfAbsent(3, 31)).isFalse();
+        assertThat(map.get(3, 0)).isEqualTo(30);
+    }
+
+    @Test
+    void addToStartsAbsentKeysAtZero() {
+        LongLongHashMap map = new LongLongHashMap();
+
+        assertThat(map.addTo(5, 2)).isEqualTo(2);
+        assertThat(map.addTo(5, 3)).isEqualTo(5);
+        assertThat(map.addTo(-5, -1)).isEqualTo(-1);
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    void conditionalRemoveChecksValue() {
+        LongLongHashMap map = new LongLongHashMap();
+        map.put(1, 10);
+
+        assertThat(map.remove(1, 11)).isFalse();
+        assertThat(map.remove(1, 10)).isTrue();
+        assertThat(map.remove(1)).isFalse();
+        assertThat(map.isEmpty()).isTrue();
+    }
+
+    @Test
+    void keyZeroIsRejected() {
+        LongLongHashMap map = new LongLongHashMap();
+
+        assertThatThrownBy(() -> map.put(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> map.get(0, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void growsPastInitialCapacity() {
+        LongLongHashMap map = new LongLongHashMap(2);
+        for (long key = 1; key <= 10_000; key++) {
+            map.put(key, key * 2);
+        }
+
+        assertThat(map.size()).isEqualTo(10_000);
+        for (long key = 1; key <= 10_000; key++) {
+            assertThat(map.get(key, -1)).isEqualTo(key * 2);
+        }
+    }
+
+    @Test
+    void removalKeepsCollidingKeysReachable() {
+        // Random inserts and removals on a small table exercise probe chains and backward shifts
+        LongLongHashMap map = new LongLongHashMap();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextInt(200) + 1;
+            if (random.nextBoolean()) {
+                map.put(key, i);
+                expected.put(key, (long) i);
+            } else {
+                assertThat(map.remove(key)).isEqualTo(expected.remove(key) != null);
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        Map<Long, Long> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void clearEmptiesTheMap() {
+        LongLongHashMap map = new LongLongHashMap();
+        map.put(1, 1);
+        map.put(2, 2);
+
+        map.clear();
+
+        assertThat(map.isEmpty()).isTrue();
+        assertThat(map.containsKey(1)).isFalse();
+    }
+}
@@ -0,0 +1,49 @@
+package com.library.api.util;
+
+import com.library.api.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SyncCursorTest {
+
+    private static final LocalDateTime SINCE = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime UNTIL = LocalDateTime.of(2024, 6, 1, 12, 30, 15, 123_000_000);
+
+    @Test
+    void firstPositionStartsBeforeAnyId() {
+        SyncCursor cursor = SyncCursor.first(SINCE, UNTIL);
+
+        assertThat(cursor.changedAt()).isEqualTo(SINCE);
+        assertThat(cursor.id()).isEqualTo(-1);
+        assertThat(cursor.until()).isEqualTo(UNTIL);
+    }
+
+    @Test
+    void afterKeepsTheWindowUpperBound() {
+        LocalDateTime changedAt = SINCE.plusDays(3);
+
+        SyncCursor next = SyncCursor.first(SINCE, UNTIL).after(changedAt, 17);
+
+        assertThat(next).isEqualTo(new SyncCursor(changedAt, 17, UNTIL));
+    }
+
+    @Test
+    void encodeDecodeRoundTrips() {
+        SyncCursor cursor = new SyncCursor(LocalDateTime.of(2024, 3, 5, 8, 0, 0, 1), 123_456_789L, UNTIL);
+
+        String token = cursor.encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+        assertThat(SyncCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThatThrownBy(() -> SyncCursor.decode("not base64!")).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> SyncCursor.decode("MjAyNA")).isInstanceOf(BadRequestException.class);
+    }
+}